@@ -3,6 +3,7 @@ package com.example.books.controller;
 import com.example.books.model.Book;
 import com.example.books.model.User;
 import com.example.books.service.BookService;
+import com.example.books.service.UserAlreadyExistsException;
 import com.example.books.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.stereotype.Controller;
@@ -112,14 +113,13 @@ public class BookController {
             return "add_user";
         }
 
-        Optional<User> userWithRole = userService.findUserWithRoleByName( user.getName() );
-        if (userWithRole.isPresent()) {
+        try {
+            userService.save(user); // no lookup first: the unique index on user_name reports duplicates
+        } catch (UserAlreadyExistsException e) {
             model.addAttribute( "error", "User '" + user.getName() + "' already exists! Try again." );
             model.addAttribute( "user", new User() );
             return "add_user";
         }
-
-        userService.save(user);
         return "redirect:/login";
     }
 }
@@ -3,6 +3,8 @@ package com.example.books.service;
 import com.example.books.model.User;
 import com.example.books.repository.RoleRepository;
 import com.example.books.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Example;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -21,10 +23,20 @@ public class UserService {
         this.passwordEncoder = passwordEncoder;
     }
 
+    /*
+     * Registration is a single INSERT: the UNIQ_USERNAME constraint (V1 migration) rejects duplicate names,
+     * instead of a "does this name exist?" query before the insert (two requests could both pass that check).
+     * Throws UserAlreadyExistsException for a duplicate name; other integrity errors (e.g. unknown role) are rethrown.
+     */
     @Transactional
     public User save(User user) {
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (isUniqueViolation(e)) throw new UserAlreadyExistsException(user.getName(), e);
+            throw e;
+        }
     }
 
     @Transactional( readOnly = true )
@@ -33,4 +45,10 @@ public class UserService {
     {
         return userRepository.findUserWithRoleByName( name );
     }
+
+    // Hibernate classifies the vendor error (MySQL 1062); UNIQ_USERNAME is the only unique key of tbl_user
+    private static boolean isUniqueViolation(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException violation
+               && violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE;
+    }
 }
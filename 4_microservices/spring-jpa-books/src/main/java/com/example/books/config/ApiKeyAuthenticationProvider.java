@@ -0,0 +1,52 @@
+package com.example.books.config;
+
+import com.example.books.dto.ApiKeyCredentials;
+import com.example.books.service.ApiKeyService;
+import com.example.books.service.RoleAuthorityRegistry;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+
+/*
+ * Authenticates machine clients by API key (X-API-Key header on /api/**), next to the form login of
+ * MyUsernamePwdAuthenticationProvider: a cached lookup by the key's prefix and a constant-time comparison of
+ * SHA-256 digests (ApiKeyService), no BCrypt, no session.
+ *
+ * Deliberately not a @Component: Spring Boot only wires a single AuthenticationProvider bean into the global
+ * AuthenticationManager (the form login's). SecurityConfig gives this one its own ProviderManager in the API-key filter.
+ */
+public class ApiKeyAuthenticationProvider implements AuthenticationProvider {
+
+    private final ApiKeyService apiKeyService;
+    private final RoleAuthorityRegistry roleAuthorityRegistry;
+
+    public ApiKeyAuthenticationProvider( ApiKeyService apiKeyService, RoleAuthorityRegistry roleAuthorityRegistry )
+    {
+        this.apiKeyService = apiKeyService;
+        this.roleAuthorityRegistry = roleAuthorityRegistry;
+    }
+
+    @Override
+    public Authentication authenticate( Authentication authentication ) throws AuthenticationException
+    {
+        String key = String.valueOf( authentication.getCredentials() );
+        ApiKeyCredentials credentials = ApiKeyService.prefixOf( key )
+                                                     .flatMap( apiKeyService::findCredentials )
+                                                     .filter( stored -> ApiKeyService.secretMatches( key, stored.digest() ) )
+                                                     .orElseThrow( () -> new BadCredentialsException( "Invalid API key" ) );
+        // Same shared authority lists as a form login of the key's user
+        List<GrantedAuthority> authorities = roleAuthorityRegistry.authorities( credentials.roleId() )
+                                                                  .orElseThrow( () -> new BadCredentialsException( "Invalid API key" ) );
+        return ApiKeyAuthenticationToken.authenticated( credentials.userName(), authorities );
+    }
+
+    @Override
+    public boolean supports( Class<?> authenticationType )
+    {
+        return ApiKeyAuthenticationToken.class.isAssignableFrom( authenticationType );
+    }
+}
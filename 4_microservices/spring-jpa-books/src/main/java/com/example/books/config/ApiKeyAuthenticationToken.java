@@ -0,0 +1,66 @@
+package com.example.books.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.util.StringUtils;
+
+import java.util.Collection;
+import java.util.List;
+
+/*
+ * A request authenticated (or to be authenticated) by the X-API-Key header.
+ * Before ApiKeyAuthenticationProvider: only the key. After: the key's user and authorities, key erased.
+ */
+public class ApiKeyAuthenticationToken extends AbstractAuthenticationToken {
+
+    public static final String HEADER = "X-API-Key";
+
+    private final String userName;
+    private String key;
+
+    private ApiKeyAuthenticationToken( String userName, String key, Collection<? extends GrantedAuthority> authorities )
+    {
+        super( authorities );
+        this.userName = userName;
+        this.key = key;
+        setAuthenticated( userName != null );
+    }
+
+    public static ApiKeyAuthenticationToken unauthenticated( String key )
+    {
+        return new ApiKeyAuthenticationToken( null, key, List.of() );
+    }
+
+    public static ApiKeyAuthenticationToken authenticated( String userName, Collection<? extends GrantedAuthority> authorities )
+    {
+        return new ApiKeyAuthenticationToken( userName, null, authorities );
+    }
+
+    /* AuthenticationConverter of the API-key filter (SecurityConfig): null = no header, the request goes on unauthenticated */
+    public static Authentication fromRequest( HttpServletRequest request )
+    {
+        String key = request.getHeader( HEADER );
+        return StringUtils.hasText( key ) ? unauthenticated( key.strip() ) : null;
+    }
+
+    @Override
+    public Object getCredentials()
+    {
+        return key;
+    }
+
+    @Override
+    public Object getPrincipal()
+    {
+        return userName;
+    }
+
+    @Override
+    public void eraseCredentials()
+    {
+        super.eraseCredentials();
+        key = null;
+    }
+}
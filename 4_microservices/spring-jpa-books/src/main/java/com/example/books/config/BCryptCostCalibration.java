@@ -0,0 +1,64 @@
+package com.example.books.config;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.stream.LongStream;
+
+/*
+ * Picks the BCrypt cost (log2 of the rounds) for the machine the application starts on:
+ * the highest cost in [minStrength, maxStrength] whose hash time stays within the target latency.
+ *
+ * Only the minimum cost is timed (median of a few hashes, after a warm-up): every extra cost doubles
+ * the work, so the other costs are extrapolated instead of spending seconds hashing at startup.
+ * minStrength is a floor: on slow hardware logins get slower rather than hashes weaker.
+ */
+final class BCryptCostCalibration {
+
+    private static final int WARMUPS = 1;
+    private static final int SAMPLES = 3;
+
+    private BCryptCostCalibration() {}
+
+    static int calibrate( Duration targetLatency, int minStrength, int maxStrength )
+    {
+        long estimatedNanos = medianHashNanos( minStrength );
+        int strength = minStrength;
+        while ( strength < maxStrength && estimatedNanos * 2 <= targetLatency.toNanos() )
+        {
+            estimatedNanos *= 2;
+            strength++;
+        }
+        return strength;
+    }
+
+    static long medianHashNanos( int strength )
+    {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder( strength );
+        for ( int i = 0; i < WARMUPS; i++ ) encoder.encode( "calibration" );
+        long[] samples = LongStream.range( 0, SAMPLES ).map( i -> {
+            long start = System.nanoTime();
+            encoder.encode( "calibration" );
+            return System.nanoTime() - start;
+        } ).toArray();
+        Arrays.sort( samples );
+        return samples[SAMPLES / 2];
+    }
+
+    /* Cost of a BCrypt hash ("$2a$12$..." -> 12), -1 when the hash is not BCrypt */
+    static int costOf( String bcryptHash )
+    {
+        if ( bcryptHash == null || bcryptHash.length() < 7 || bcryptHash.charAt( 0 ) != '$' || bcryptHash.charAt( 3 ) != '$' )
+        {
+            return -1;
+        }
+        try
+        {
+            return Integer.parseInt( bcryptHash.substring( 4, 6 ) );
+        } catch ( NumberFormatException e )
+        {
+            return -1;
+        }
+    }
+}
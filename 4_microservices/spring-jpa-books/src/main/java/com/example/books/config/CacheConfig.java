@@ -0,0 +1,27 @@
+package com.example.books.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/*
+ * Enables Spring's cache abstraction (@Cacheable/@CacheEvict) backed by Caffeine.
+ * Cache names, size bound and TTL live in application.properties (spring.cache.*).
+ *
+ * The caching advice runs with a higher precedence than @Transactional (which uses LOWEST_PRECEDENCE),
+ * so the cache interceptor wraps the transaction: evictions happen only AFTER the write commits.
+ * That alone does not keep the caches fresh: a reader that missed before the commit can still put the old row
+ * back after the eviction, and a write on another replica never evicts this replica's caches. So the "book" and
+ * "bookPages" keys start with the CatalogVersion, which every book write increments: such a late put lands under
+ * the previous version, and no reader asks for it once the write is seen (immediately on the writing replica,
+ * within books.catalog.version-max-age on the others). Clearing them on writes only frees the old entries.
+ */
+@Configuration
+@EnableCaching( order = Ordered.LOWEST_PRECEDENCE - 1 )
+public class CacheConfig {
+
+    public static final String BOOK_CACHE = "book";
+    public static final String BOOK_PAGES_CACHE = "bookPages";
+    public static final String USER_CREDENTIALS_CACHE = "userCredentials";
+    public static final String API_KEY_CACHE = "apiKeys";
+}
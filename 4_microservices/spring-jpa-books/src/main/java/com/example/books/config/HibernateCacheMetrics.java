@@ -0,0 +1,64 @@
+package com.example.books.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/*
+ * Publishes Hibernate's second-level/query cache statistics as Micrometer meters, so hit ratios
+ * can be followed under load at /actuator/metrics/hibernate.cache.requests (per region, hit/miss).
+ * Only registered with the "l2cache" profile, which is also the one turning statistics on.
+ */
+@Component
+@Profile( "l2cache" )
+public class HibernateCacheMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    public HibernateCacheMetrics( EntityManagerFactory entityManagerFactory )
+    {
+        this.statistics = entityManagerFactory.unwrap( SessionFactory.class ).getStatistics();
+    }
+
+    @Override
+    public void bindTo( MeterRegistry registry )
+    {
+        // Named query-cache regions are only created on first use; their traffic is covered by hibernate.query.cache.requests
+        for ( String region : statistics.getSecondLevelCacheRegionNames() )
+        {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics( region );
+            if ( regionStatistics == null ) continue;
+
+            counter( registry, "hibernate.cache.requests", regionStatistics, CacheRegionStatistics::getHitCount,
+                     "region", region, "result", "hit" );
+            counter( registry, "hibernate.cache.requests", regionStatistics, CacheRegionStatistics::getMissCount,
+                     "region", region, "result", "miss" );
+            counter( registry, "hibernate.cache.puts", regionStatistics, CacheRegionStatistics::getPutCount,
+                     "region", region );
+        }
+
+        counter( registry, "hibernate.query.cache.requests", statistics, Statistics::getQueryCacheHitCount,
+                 "result", "hit" );
+        counter( registry, "hibernate.query.cache.requests", statistics, Statistics::getQueryCacheMissCount,
+                 "result", "miss" );
+        // What still reaches MySQL: compare with the cache hits above
+        counter( registry, "hibernate.query.executions", statistics, Statistics::getQueryExecutionCount );
+        counter( registry, "hibernate.entities.loaded", statistics, Statistics::getEntityLoadCount );
+    }
+
+    private static <T> void counter( MeterRegistry registry, String name, T source,
+                                     ToDoubleFunction<T> count, String... tags )
+    {
+        FunctionCounter.builder( name, source, count )
+                       .tags( tags )
+                       .register( registry );
+    }
+}
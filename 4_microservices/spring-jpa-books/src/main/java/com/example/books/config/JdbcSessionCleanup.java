@@ -0,0 +1,100 @@
+package com.example.books.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/*
+ * Deletes expired Spring Session rows ("jdbc-session" profile) in batches of books.session.cleanup.batch-size.
+ *
+ * Spring Session's own cleanup (disabled with spring.session.jdbc.cleanup-cron=-) is one DELETE of every expired row:
+ * after a busy day that is one long transaction locking thousands of rows (and their attributes, ON DELETE CASCADE)
+ * while logins keep writing to the same table. Here every batch is its own short statement (auto-commit), walking the
+ * EXPIRY_TIME index in order (oldest sessions first), and the loop stops at the first batch that is not full.
+ *
+ * Every replica schedules the same cron, but only one runs it: the run holds a MySQL named lock (GET_LOCK, not
+ * waiting) on its connection, and replicas that do not get it skip this run. Otherwise they would all delete from
+ * the same index range at the same second, blocking (or deadlocking) each other for nothing.
+ */
+@Component
+@Profile( "jdbc-session" )
+@EnableScheduling
+public class JdbcSessionCleanup {
+
+    private static final Logger log = LoggerFactory.getLogger( JdbcSessionCleanup.class );
+
+    private static final String TRY_LOCK = "SELECT GET_LOCK(?, 0)"; // 1 = acquired, 0 = held by another connection
+    private static final String RELEASE_LOCK = "SELECT RELEASE_LOCK(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String deleteExpired;
+    private final String lockName;
+    private final int batchSize;
+    private final Counter deleted;
+
+    public JdbcSessionCleanup( JdbcTemplate jdbcTemplate, MeterRegistry registry,
+                               @Value( "${spring.session.jdbc.table-name:SPRING_SESSION}" ) String tableName,
+                               @Value( "${books.session.cleanup.batch-size:500}" ) int batchSize )
+    {
+        if ( batchSize <= 0 ) // "LIMIT 0" deletes nothing and the loop would never end
+        {
+            throw new IllegalArgumentException( "books.session.cleanup.batch-size must be positive: " + batchSize );
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.deleteExpired = "DELETE FROM " + tableName + " WHERE EXPIRY_TIME < ? ORDER BY EXPIRY_TIME LIMIT ?";
+        this.lockName = "books.session.cleanup." + tableName;
+        this.batchSize = batchSize;
+        this.deleted = Counter.builder( "session.cleanup.deleted" )
+                              .description( "Expired HTTP sessions deleted from the JDBC session store" )
+                              .register( registry );
+    }
+
+    /* Returns the number of sessions deleted (0 when another replica holds the lock) */
+    @Scheduled( cron = "${books.session.cleanup.cron:0 * * * * *}" )
+    public int deleteExpiredSessions()
+    {
+        // A named lock belongs to a connection: lock, batches and release all run on the same one
+        Integer total = jdbcTemplate.execute( (ConnectionCallback<Integer>) connection -> {
+            JdbcTemplate session = new JdbcTemplate( new SingleConnectionDataSource( connection, true ) );
+            Integer locked = session.queryForObject( TRY_LOCK, Integer.class, lockName );
+            if ( locked == null || locked != 1 )
+            {
+                log.debug( "Expired session cleanup skipped: running on another replica" );
+                return 0;
+            }
+            try
+            {
+                return deleteInBatches( session );
+            } finally
+            {
+                session.queryForObject( RELEASE_LOCK, Integer.class, lockName );
+            }
+        } );
+        return total == null ? 0 : total;
+    }
+
+    private int deleteInBatches( JdbcTemplate session )
+    {
+        long now = System.currentTimeMillis(); // one cutoff for every batch: sessions expiring meanwhile wait for the next run
+        int total = 0;
+        int batch;
+        do
+        {
+            batch = session.update( deleteExpired, now, batchSize );
+            total += batch;
+        } while ( batch == batchSize );
+
+        deleted.increment( total );
+        if ( total > 0 ) log.debug( "Deleted {} expired sessions", total );
+        return total;
+    }
+}
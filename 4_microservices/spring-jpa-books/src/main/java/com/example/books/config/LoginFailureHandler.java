@@ -0,0 +1,56 @@
+package com.example.books.config;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/*
+ * Login failures: wrong credentials redirect to the failure URL (/login?error) as before;
+ * an overloaded login (LoginOverloadedException) gets "503 Service Unavailable" and a throttled one
+ * (LoginThrottledException) "429 Too Many Requests", both with Retry-After, so clients back off
+ * instead of retrying at once.
+ * The body is written here: response.sendError() would dispatch to /error, which is not public.
+ */
+public class LoginFailureHandler extends SimpleUrlAuthenticationFailureHandler {
+
+    public LoginFailureHandler( String defaultFailureUrl )
+    {
+        super( defaultFailureUrl );
+    }
+
+    @Override
+    public void onAuthenticationFailure( HttpServletRequest request, HttpServletResponse response,
+                                         AuthenticationException exception ) throws IOException, ServletException
+    {
+        if ( exception instanceof LoginOverloadedException overloaded )
+        {
+            reject( response, HttpStatus.SERVICE_UNAVAILABLE, overloaded.getRetryAfter(), "Too many logins in progress" );
+        } else if ( exception instanceof LoginThrottledException throttled )
+        {
+            reject( response, HttpStatus.TOO_MANY_REQUESTS, throttled.getRetryAfter(), "Too many login attempts" );
+        } else
+        {
+            super.onAuthenticationFailure( request, response, exception );
+        }
+    }
+
+    private static void reject( HttpServletResponse response, HttpStatus status, Duration retryAfter, String reason )
+        throws IOException
+    {
+        long seconds = Math.max( 1, (long) Math.ceil( retryAfter.toMillis() / 1000.0 ) );
+        response.setStatus( status.value() );
+        response.setHeader( HttpHeaders.RETRY_AFTER, String.valueOf( seconds ) );
+        response.setContentType( MediaType.TEXT_PLAIN_VALUE );
+        response.setCharacterEncoding( StandardCharsets.UTF_8.name() );
+        response.getWriter().write( reason + ", please try again in " + seconds + " s." );
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.books.config;
+
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+
+import java.time.Duration;
+
+/*
+ * The password could not be verified because PasswordHashingExecutor is saturated (queue full or timeout).
+ * Not a "bad credentials" failure: LoginFailureHandler answers 503 with Retry-After instead of /login?error.
+ * Extends InternalAuthenticationServiceException so that ProviderManager rethrows it as is.
+ */
+public class LoginOverloadedException extends InternalAuthenticationServiceException {
+
+    private final Duration retryAfter;
+
+    public LoginOverloadedException( Duration retryAfter )
+    {
+        super( "Too many logins in progress" );
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {return retryAfter;}
+}
@@ -0,0 +1,65 @@
+package com.example.books.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/*
+ * Rate limit of login attempts, checked by MyUsernamePwdAuthenticationProvider before any database access
+ * or BCrypt work: every failed login costs a full hash, so a credential-stuffing burst would otherwise
+ * turn into a CPU denial of service.
+ *
+ * Two independent token buckets per attempt (see StripedTokenBuckets): one per username (slow guessing of
+ * one account from many IPs) and one per client IP (one IP trying many accounts). An attempt is refused when
+ * either bucket is empty. Rejections are counted in security.login.throttled{key=user|ip};
+ * security.login.throttle.buckets is the number of buckets held in memory.
+ */
+@Component
+public class LoginThrottle {
+
+    private final StripedTokenBuckets userBuckets;
+    private final StripedTokenBuckets ipBuckets;
+    private final Counter throttledUser;
+    private final Counter throttledIp;
+
+    public LoginThrottle( MeterRegistry registry,
+                          @Value( "${books.security.login-throttle.user.capacity:5}" ) int userCapacity,
+                          @Value( "${books.security.login-throttle.user.refill-period:12s}" ) Duration userRefillPeriod,
+                          @Value( "${books.security.login-throttle.ip.capacity:50}" ) int ipCapacity,
+                          @Value( "${books.security.login-throttle.ip.refill-period:1s}" ) Duration ipRefillPeriod,
+                          @Value( "${books.security.login-throttle.max-buckets:100000}" ) int maxBuckets )
+    {
+        this.userBuckets = new StripedTokenBuckets( userCapacity, userRefillPeriod, maxBuckets );
+        this.ipBuckets = new StripedTokenBuckets( ipCapacity, ipRefillPeriod, maxBuckets );
+        this.throttledUser = throttledCounter( registry, "user" );
+        this.throttledIp = throttledCounter( registry, "ip" );
+        Gauge.builder( "security.login.throttle.buckets", this, throttle -> throttle.userBuckets.size() + throttle.ipBuckets.size() )
+             .description( "Login throttle token buckets held in memory (usernames + IPs)" )
+             .register( registry );
+    }
+
+    /* Consumes one attempt for both keys; throws LoginThrottledException when either is exhausted */
+    public void checkAttempt( String username, String clientIp )
+    {
+        Duration ipWait = clientIp == null ? Duration.ZERO : ipBuckets.tryConsume( clientIp );
+        Duration userWait = userBuckets.tryConsume( username == null ? "" : username.strip().toLowerCase( Locale.ROOT ) );
+        if ( !ipWait.isZero() ) throttledIp.increment();
+        if ( !userWait.isZero() ) throttledUser.increment();
+
+        Duration wait = ipWait.compareTo( userWait ) > 0 ? ipWait : userWait;
+        if ( !wait.isZero() ) throw new LoginThrottledException( wait );
+    }
+
+    private static Counter throttledCounter( MeterRegistry registry, String key )
+    {
+        return Counter.builder( "security.login.throttled" )
+                      .description( "Login attempts refused by the login throttle" )
+                      .tag( "key", key )
+                      .register( registry );
+    }
+}
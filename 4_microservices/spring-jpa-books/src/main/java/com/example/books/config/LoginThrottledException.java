@@ -0,0 +1,23 @@
+package com.example.books.config;
+
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+
+import java.time.Duration;
+
+/*
+ * Too many login attempts for this username or from this IP address (LoginThrottle).
+ * Thrown before the user is looked up or any password is hashed; LoginFailureHandler answers 429 with Retry-After.
+ * Extends InternalAuthenticationServiceException so that ProviderManager rethrows it as is.
+ */
+public class LoginThrottledException extends InternalAuthenticationServiceException {
+
+    private final Duration retryAfter;
+
+    public LoginThrottledException( Duration retryAfter )
+    {
+        super( "Too many login attempts" );
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {return retryAfter;}
+}
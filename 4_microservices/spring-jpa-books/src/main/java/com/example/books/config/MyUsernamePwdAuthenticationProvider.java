@@ -1,8 +1,10 @@
 package com.example.books.config;
 
-import com.example.books.model.Role;
-import com.example.books.model.User;
-import com.example.books.repository.UserRepository;
+import com.example.books.dto.UserCredentials;
+import com.example.books.service.RoleAuthorityRegistry;
+import com.example.books.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -10,12 +12,12 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /* The interface which we need to implement to define the logic on how a user should be
  * authenticated inside Spring Security framework is AuthenticationProvider
@@ -24,22 +26,65 @@ import java.util.List;
 public class MyUsernamePwdAuthenticationProvider implements AuthenticationProvider {
 
     @Autowired
-    private UserRepository userRepository;
+    private UserService userService; // credentials cached (TTL), evicted on every user write
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private RoleAuthorityRegistry roleAuthorityRegistry; // authorities of every role of tbl_role, built at startup
+
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor; // PasswordEncoder.matches() on a bounded pool
+
+    @Autowired
+    private PasswordEncoder passwordEncoder; // only upgradeEncoding() here: cheap, no hashing
+
+    @Autowired
+    private LoginThrottle loginThrottle; // token buckets per username and per IP
+
+    // security.authentication{result,reason}: count and latency of form logins. Bounded tag values (no usernames or
+    // IPs), so every timer is registered once here: a login only picks one, no builder or registry lookup per call
+    private final Timer successTimer;
+    private final Timer badCredentialsTimer;
+    private final Timer throttledTimer;
+    private final Timer overloadedTimer;
+
+    public MyUsernamePwdAuthenticationProvider( MeterRegistry meterRegistry )
+    {
+        this.successTimer = authenticationTimer( meterRegistry, "success", "none" );
+        this.badCredentialsTimer = authenticationTimer( meterRegistry, "failure", "bad-credentials" );
+        this.throttledTimer = authenticationTimer( meterRegistry, "failure", "throttled" );
+        this.overloadedTimer = authenticationTimer( meterRegistry, "failure", "overloaded" );
+    }
 
     /* The authenticate(Authentication authentication) method represents all the logic for authentication. */
     @Override
     public Authentication authenticate( Authentication authentication ) throws AuthenticationException
+    {
+        /* Mede cada login (sucesso ou falha, e o motivo): latência com histograma e contagem (_count no Prometheus) */
+        long start = System.nanoTime();
+        try
+        {
+            Authentication authenticated = checkCredentials( authentication );
+            successTimer.record( System.nanoTime() - start, TimeUnit.NANOSECONDS );
+            return authenticated;
+        } catch ( AuthenticationException e )
+        {
+            failureTimer( e ).record( System.nanoTime() - start, TimeUnit.NANOSECONDS );
+            throw e;
+        }
+    }
+
+    private Authentication checkCredentials( Authentication authentication )
     {
         String htmlFormUser = authentication.getName();
         String htmlFormPassword = String.valueOf( authentication.getCredentials() );
 
+        /* Limita tentativas por usuário e por IP ANTES de consultar o banco e de rodar o BCrypt (429 se excedido) */
+        loginThrottle.checkAttempt( htmlFormUser, clientIp( authentication ) );
+
 
-        /* Busca o usuário no banco de dados com base no nome informado no formulário HTML */
-        User fetchedUser = userRepository.findUserWithRoleByName( htmlFormUser )
-                                         .orElse( null );
+        /* Busca o usuário com base no nome informado no formulário HTML: no cache e, se não estiver lá, no banco de dados */
+        UserCredentials fetchedUser = userService.findCredentials( htmlFormUser )
+                                                 .orElse( null );
 
        /*
         * Essa verificação substitui a chamada padrão ao UserDetailsService e PasswordEncoder.
@@ -47,26 +92,28 @@ public class MyUsernamePwdAuthenticationProvider implements AuthenticationProvid
         * This condition generally calls UserDetailsService and PasswordEncoder to test the username and password.
         */
         if ( ( fetchedUser != null ) &&
-             ( fetchedUser.getId() > 0 ) &&
-             // Em vez de comparar diretamente com fetchedUser.getPassword().equals(htmlFormPassword), usamos o PasswordEncoder
-             passwordEncoder.matches( htmlFormPassword, fetchedUser.getPassword() ) ) // usando BcryptEncoder
+             ( fetchedUser.id() > 0 ) &&
+             // Em vez de comparar diretamente com fetchedUser.passwordHash().equals(htmlFormPassword), usamos o PasswordEncoder
+             // BCrypt é lento de propósito: roda num pool limitado, fora da thread da requisição (503 se lotado)
+             passwordHashingExecutor.matches( htmlFormPassword, fetchedUser.passwordHash() ) ) // usando BcryptEncoder
         {
+            upgradePasswordHash( fetchedUser, htmlFormPassword );
             // From Spring Security in Action 2nd edition:
             // This class is an implementation of the Authentication interface and represents a
             // standard authentication request with username and password
             return new UsernamePasswordAuthenticationToken(
                /*
-                * O primeiro parâmetro (fetchedUser.getName()) será usado pelo Spring Security
+                * O primeiro parâmetro (fetchedUser.name()) será usado pelo Spring Security
                 * como o "nome de usuário autenticado". Por exemplo, no endpoint /dashboard,
                 * o nome exibido será esse.
                 *
                 * Se preferíssemos autenticar pelo e-mail, bastaria ajustar a lógica de autenticação
-                * e retornar fetchedUser.getEmail() aqui.
+                * e retornar o e-mail aqui.
                 *
                 * Como o segundo parâmetro (credentials) não é mais necessário após a autenticação,
                 * passamos null.
                 */
-                fetchedUser.getName(), null, getGrantedAuthorities( fetchedUser.getRole() )
+                fetchedUser.name(), null, getGrantedAuthorities( fetchedUser )
             );
         } else
         {
@@ -74,7 +121,47 @@ public class MyUsernamePwdAuthenticationProvider implements AuthenticationProvid
         }
     }
 
-    private List<GrantedAuthority> getGrantedAuthorities( Role role )
+    /*
+     * A senha acabou de ser validada: se o hash armazenado usa um custo BCrypt menor que o atual (ou não tem o prefixo "{bcrypt}"),
+     * gravamos um novo hash com o custo atual (PasswordEncoderConfig). Só dá para fazer isso aqui: o re-hash precisa
+     * da senha em texto puro, que só existe durante o login. Se o pool de hashing estiver lotado, fica para o próximo login.
+     */
+    private void upgradePasswordHash( UserCredentials user, String rawPassword )
+    {
+        if ( !passwordEncoder.upgradeEncoding( user.passwordHash() ) ) return;
+        try
+        {
+            String newHash = passwordHashingExecutor.encode( rawPassword );
+            userService.updatePasswordHash( user.id(), user.passwordHash(), newHash ); // também limpa o cache de credenciais
+        } catch ( LoginOverloadedException e )
+        {
+            // o login em si deu certo; mantém o hash antigo por enquanto
+        }
+    }
+
+    private static Timer authenticationTimer( MeterRegistry meterRegistry, String result, String reason )
+    {
+        return Timer.builder( "security.authentication" )
+                    .description( "Form logins checked by MyUsernamePwdAuthenticationProvider" )
+                    .tag( "result", result )
+                    .tag( "reason", reason )
+                    .register( meterRegistry );
+    }
+
+    private Timer failureTimer( AuthenticationException e )
+    {
+        if ( e instanceof LoginThrottledException ) return throttledTimer;   // 429, no BCrypt work done
+        if ( e instanceof LoginOverloadedException ) return overloadedTimer; // 503, hashing pool saturated
+        return badCredentialsTimer;
+    }
+
+    // Set by the form login (WebAuthenticationDetails); the proxy's address unless server.forward-headers-strategy is set
+    private static String clientIp( Authentication authentication )
+    {
+        return authentication.getDetails() instanceof WebAuthenticationDetails details ? details.getRemoteAddress() : null;
+    }
+
+    private List<GrantedAuthority> getGrantedAuthorities( UserCredentials user )
     {
         /* From Spring Security in Action 2nd edition:
          * "GrantedAuthority: It represents a privilege granted to the user. A user must have at
@@ -84,11 +171,13 @@ public class MyUsernamePwdAuthenticationProvider implements AuthenticationProvid
          * instances of the type GrantedAuthority. Spring Security uses authorities to refer either
          * to fine-grained privileges or to roles, which are groups of privileges."
          */
-        List<GrantedAuthority> grantedAuthorities = new ArrayList<>();
-        grantedAuthorities.add(
-            new SimpleGrantedAuthority( role.getRole().toUpperCase() )
-        );
-        return grantedAuthorities;
+        /*
+         * As authorities de cada papel (SimpleGrantedAuthority, já em maiúsculas e com a hierarquia de papéis aplicada)
+         * são criadas uma única vez, na inicialização (RoleAuthorityRegistry): aqui só recebemos a lista imutável compartilhada,
+         * sem JOIN com tbl_role e sem criar objetos a cada login.
+         */
+        return roleAuthorityRegistry.authorities( user.roleId() )
+                                    .orElseThrow( () -> new AuthenticationCredentialsNotFoundException( "Invalid credentials!" ) );
     }
 
    /*  Informa ao Spring Security que o nosso AuthenticationProvider suporta (como DaoAuthenticationProvider)
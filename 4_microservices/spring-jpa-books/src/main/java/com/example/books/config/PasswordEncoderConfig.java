@@ -1,14 +1,65 @@
 package com.example.books.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+import java.util.Map;
+
+/*
+ * Password hashes are stored in the self-describing "{bcrypt}$2a$<cost>$..." format (DelegatingPasswordEncoder).
+ * The BCrypt cost is calibrated at startup to books.security.bcrypt.target-latency (see BCryptCostCalibration),
+ * or fixed with books.security.bcrypt.strength. Stored hashes with another cost (or without the "{bcrypt}" prefix,
+ * like the V2 migration users) still match. Those with a LOWER cost (or no prefix) are re-hashed with the current cost
+ * on the next successful login (MyUsernamePwdAuthenticationProvider); higher costs are kept, so hashes only get stronger.
+ *
+ * Several replicas sharing the database must use the same cost: set books.security.bcrypt.strength. Calibrated
+ * replicas on different hardware would otherwise each hash at their own cost, and a user's login cost would depend
+ * on the replica that last upgraded the hash.
+ */
 @Configuration
 public class PasswordEncoderConfig {
+
+    static final String BCRYPT_ID = "bcrypt";
+
+    private static final Logger log = LoggerFactory.getLogger( PasswordEncoderConfig.class );
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder( @Value( "${books.security.bcrypt.strength:0}" ) int fixedStrength,
+                                            @Value( "${books.security.bcrypt.target-latency:50ms}" ) Duration targetLatency,
+                                            @Value( "${books.security.bcrypt.min-strength:10}" ) int minStrength,
+                                            @Value( "${books.security.bcrypt.max-strength:14}" ) int maxStrength ) {
+        int strength = fixedStrength > 0 ? fixedStrength : BCryptCostCalibration.calibrate( targetLatency, minStrength, maxStrength );
+        log.info( "BCrypt cost {} ({})", strength,
+                  fixedStrength > 0 ? "fixed" : "calibrated for " + targetLatency.toMillis() + " ms per hash" );
+
+        BCryptPasswordEncoder bcrypt = new UpgradingBCryptPasswordEncoder( strength );
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder( BCRYPT_ID, Map.of( BCRYPT_ID, bcrypt ) );
+        encoder.setDefaultPasswordEncoderForMatches( bcrypt ); // hashes stored without the "{bcrypt}" prefix
+        return encoder;
+    }
+
+    /* upgradeEncoding() is true only when the stored cost is lower than the current one (never downgrades);
+     * unlike BCrypt's own, it returns false instead of throwing for a hash that is not BCrypt */
+    static class UpgradingBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+        private final int strength;
+
+        UpgradingBCryptPasswordEncoder( int strength ) {
+            super( strength );
+            this.strength = strength;
+        }
+
+        @Override
+        public boolean upgradeEncoding( String encodedPassword ) {
+            int cost = BCryptCostCalibration.costOf( encodedPassword );
+            return cost >= 0 && cost < strength;
+        }
     }
 }
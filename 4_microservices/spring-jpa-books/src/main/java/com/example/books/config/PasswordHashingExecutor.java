@@ -0,0 +1,128 @@
+package com.example.books.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/*
+ * Runs the (deliberately slow, CPU-bound) BCrypt password checks and re-hashes of the login on a small dedicated pool.
+ *
+ * - Bounded: at most "threads" hashes run at the same time (default: one per CPU, more would only share the CPUs)
+ *   and at most "queue-capacity" logins wait for one. A login burst can no longer take every request thread
+ *   and the CPUs away from /books: at most threads + queue-capacity requests are busy with logins.
+ * - Fast rejection: when the queue is full, or the wait exceeds "timeout", LoginOverloadedException is thrown
+ *   at once and the client gets 503 with Retry-After (see LoginFailureHandler).
+ * - Metrics: executor.queued/active/queue.remaining{name=password-hashing} (queue depth), security.password.hashing
+ *   (time spent hashing, queue wait excluded) and security.password.hashing.rejected{reason}.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    static final String EXECUTOR_NAME = "password-hashing";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final Duration retryAfter;
+    private final Timer hashing;
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedTimeout;
+
+    public PasswordHashingExecutor( PasswordEncoder passwordEncoder, MeterRegistry registry,
+                                    @Value( "${books.security.hashing.threads:0}" ) int threads,
+                                    @Value( "${books.security.hashing.queue-capacity:100}" ) int queueCapacity,
+                                    @Value( "${books.security.hashing.timeout:5s}" ) Duration timeout,
+                                    @Value( "${books.security.hashing.retry-after:2s}" ) Duration retryAfter )
+    {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.passwordEncoder = passwordEncoder;
+        this.timeout = timeout;
+        this.retryAfter = retryAfter;
+        // Platform threads on purpose: the work is CPU-bound, the pool size IS the limit (AbortPolicy = reject when full)
+        this.executor = new ThreadPoolExecutor( poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                                                new ArrayBlockingQueue<>( queueCapacity ),
+                                                Thread.ofPlatform().name( EXECUTOR_NAME + "-", 1 ).daemon().factory(),
+                                                new ThreadPoolExecutor.AbortPolicy() );
+
+        new ExecutorServiceMetrics( executor, EXECUTOR_NAME, Tags.empty() ).bindTo( registry );
+        this.hashing = Timer.builder( "security.password.hashing" )
+                            .description( "Time spent verifying a password hash (queue wait excluded)" )
+                            .register( registry );
+        this.rejectedQueueFull = rejectedCounter( registry, "queue-full" );
+        this.rejectedTimeout = rejectedCounter( registry, "timeout" );
+    }
+
+    /* passwordEncoder.matches(), on the hashing pool; the calling request thread waits for the result */
+    public boolean matches( CharSequence rawPassword, String encodedPassword )
+    {
+        return run( () -> passwordEncoder.matches( rawPassword, encodedPassword ) );
+    }
+
+    /* passwordEncoder.encode() (a new hash costs as much as a check), on the same bounded pool */
+    public String encode( CharSequence rawPassword )
+    {
+        return run( () -> passwordEncoder.encode( rawPassword ) );
+    }
+
+    private <T> T run( Callable<T> hashOperation )
+    {
+        Future<T> result;
+        try
+        {
+            result = executor.submit( () -> hashing.recordCallable( hashOperation ) );
+        } catch ( RejectedExecutionException e )
+        {
+            rejectedQueueFull.increment();
+            throw new LoginOverloadedException( retryAfter );
+        }
+
+        try
+        {
+            return result.get( timeout.toMillis(), TimeUnit.MILLISECONDS );
+        } catch ( TimeoutException e )
+        {
+            result.cancel( true ); // still queued: never runs; already hashing: the result is dropped
+            rejectedTimeout.increment();
+            throw new LoginOverloadedException( retryAfter );
+        } catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            result.cancel( true );
+            throw new InternalAuthenticationServiceException( "Interrupted while hashing the password", e );
+        } catch ( ExecutionException e )
+        {
+            throw new InternalAuthenticationServiceException( "Password hashing failed", e.getCause() );
+        }
+    }
+
+    @PreDestroy
+    public void shutdown()
+    {
+        executor.shutdownNow();
+    }
+
+    private static Counter rejectedCounter( MeterRegistry registry, String reason )
+    {
+        return Counter.builder( "security.password.hashing.rejected" )
+                      .description( "Logins answered 503 because the password hashing pool was saturated" )
+                      .tag( "reason", reason )
+                      .register( registry );
+    }
+}
@@ -1,29 +1,57 @@
 package com.example.books.config;
 
+import com.example.books.service.ApiKeyService;
+import com.example.books.service.RoleAuthorityRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AuthenticationEntryPointFailureHandler;
+import org.springframework.security.web.authentication.AuthenticationFilter;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
+import org.springframework.security.web.savedrequest.NullRequestCache;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 @Configuration
 @EnableWebSecurity // Enables web security and tells Spring to use this class for security configuration. Spring looks for a SecurityFilterChain bean defined in the configuration class
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain( HttpSecurity http ) throws Exception {
+    public SecurityFilterChain securityFilterChain( HttpSecurity http,
+                                                    ObjectProvider<SignedCookieSecurityContextRepository> signedCookies,
+                                                    ApiKeyService apiKeyService, RoleAuthorityRegistry roleAuthorityRegistry ) throws Exception {
+        RequestMatcher api = new OrRequestMatcher(PathPatternRequestMatcher.withDefaults().matcher("/api/**"),
+                                                  PathPatternRequestMatcher.withDefaults().matcher("/actuator/prometheus")); // Prometheus scrapes with an admin's API key
+        RequestMatcher apiKeyRequest = new AndRequestMatcher(api, request -> request.getHeader(ApiKeyAuthenticationToken.HEADER) != null);
         http
             .csrf( Customizer.withDefaults() ) // Enable CSRF protection; Uses Spring Security’s default session-based CSRF handling.
+            .csrf(csrf -> csrf.ignoringRequestMatchers(apiKeyRequest)) // browsers never send a custom header cross-site (CORS preflight), so no CSRF token for API keys
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/", "/books", "/login").permitAll() // Public pages
-                .requestMatchers("/books/add", "/books/edit/**", "/books/delete/**").hasRole("ADMIN") // Admin-only actions
+                .requestMatchers("/", "/books", "/books/search", "/books/suggest", "/login").permitAll() // Public pages
+                .requestMatchers("/books/add", "/books/edit/**", "/books/delete/**", "/books/import", "/books/export", "/books/bulk/**", "/users/import").hasRole("ADMIN") // Admin-only actions
+                .requestMatchers("/api/keys/**").hasRole("ADMIN") // issuing and revoking API keys (ApiKeyController)
+                .requestMatchers(HttpMethod.GET, "/api/books/**").permitAll() // JSON API (BookApiController): public reads
+                .requestMatchers(HttpMethod.PUT, "/api/books/**").hasRole("ADMIN") // conditional updates (If-Match)
+                .requestMatchers("/actuator/health").permitAll() // Liveness for load balancers / compose healthchecks
+                .requestMatchers("/actuator/**").hasRole("ADMIN") // Metrics and cache management
                 .anyRequest().authenticated() // Everything else requires authentication
             )
             .formLogin(login -> login
                 .loginPage("/login") // Custom login page
                 .defaultSuccessUrl("/books", true) // Redirect after login (Setting a default success URL for the login form))
-                .failureUrl( "/login?error" ) // Redirect after login failed (default behaviour of wrong username/password)
+                .failureHandler( new LoginFailureHandler( "/login?error" ) ) // Redirect after login failed (wrong username/password); 503 when logins are overloaded
                 .permitAll()
             )
             .logout(logout -> logout
@@ -34,6 +62,26 @@ public class SecurityConfig {
                 .permitAll()
             );
 
+        // Machine clients: "X-API-Key: <key>" on /api/** (and the Prometheus endpoint) authenticates that one request (no session), in microseconds
+        AuthenticationFilter apiKeyFilter = new AuthenticationFilter(
+            new ProviderManager(new ApiKeyAuthenticationProvider(apiKeyService, roleAuthorityRegistry)),
+            ApiKeyAuthenticationToken::fromRequest);
+        apiKeyFilter.setRequestMatcher(api);
+        apiKeyFilter.setSuccessHandler((request, response, authentication) -> {}); // go on to the controller (the default redirects)
+        apiKeyFilter.setFailureHandler(new AuthenticationEntryPointFailureHandler(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED))); // wrong or revoked key: 401, never the login page
+        http.addFilterBefore(apiKeyFilter, UsernamePasswordAuthenticationFilter.class);
+
+        // "stateless-session" profile: no HttpSession at all, so replicas behind a load balancer need no sticky sessions
+        SignedCookieSecurityContextRepository signedCookieRepository = signedCookies.getIfAvailable();
+        if ( signedCookieRepository != null )
+        {
+            http
+                .securityContext(context -> context.securityContextRepository(signedCookieRepository)) // login kept in a signed cookie (also cleared by logout)
+                .csrf(csrf -> csrf.csrfTokenRepository(new CookieCsrfTokenRepository())) // CSRF token in the XSRF-TOKEN cookie instead of the session
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .requestCache(cache -> cache.requestCache(new NullRequestCache())); // the saved request lives in the session; after login we always go to /books anyway
+        }
+
         return http.build();
     }
 }
\ No newline at end of file
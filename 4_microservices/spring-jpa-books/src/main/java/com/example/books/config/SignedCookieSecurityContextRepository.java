@@ -0,0 +1,207 @@
+package com.example.books.config;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.DeferredSecurityContext;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.HttpRequestResponseHolder;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/*
+ * Keeps the logged-in user in a signed cookie instead of the HttpSession ("stateless-session" profile, see SecurityConfig),
+ * so any replica of the application can serve any request: no sticky sessions, no session replication.
+ *
+ * Cookie value: base64url(username) "." base64url(authorities) "." expiry (epoch seconds) "." base64url(HMAC-SHA256)
+ * - the HMAC covers the first three parts; every replica verifies it with the same secret (constant-time comparison)
+ * - signed, NOT encrypted: the username and role are readable by the browser, which already knows them
+ * - the expiry is inside the signed value, so an old cookie cannot be replayed after it, even if the browser kept it
+ * - written at login (the form login saves the SecurityContext here) and expired at logout; not renewed in between,
+ *   so users log in again after books.security.session-cookie.ttl
+ */
+@Component
+@Profile( "stateless-session" )
+public class SignedCookieSecurityContextRepository implements SecurityContextRepository {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32; // the HMAC-SHA256 output size
+    private static final Base64.Encoder BASE64 = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder BASE64_DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final String cookieName;
+    private final Duration ttl;
+    private final boolean secure;
+    private final Clock clock;
+
+    @Autowired
+    public SignedCookieSecurityContextRepository( @Value( "${books.security.session-cookie.secret:}" ) String secret,
+                                                  @Value( "${books.security.session-cookie.name:BOOKS_AUTH}" ) String cookieName,
+                                                  @Value( "${books.security.session-cookie.ttl:1h}" ) Duration ttl,
+                                                  @Value( "${books.security.session-cookie.secure:false}" ) boolean secure )
+    {
+        this( decodeSecret( secret ), cookieName, ttl, secure, Clock.systemUTC() );
+    }
+
+    SignedCookieSecurityContextRepository( byte[] secret, String cookieName, Duration ttl, boolean secure, Clock clock )
+    {
+        this.key = new SecretKeySpec( secret, HMAC_ALGORITHM );
+        this.cookieName = cookieName;
+        this.ttl = ttl;
+        this.secure = secure;
+        this.clock = clock;
+    }
+
+    // Read lazily: requests to public pages never verify the cookie unless something asks for the user
+    @Override
+    public DeferredSecurityContext loadDeferredContext( HttpServletRequest request )
+    {
+        Supplier<SecurityContext> context = SingletonSupplier.of( () -> readContext( request ) );
+        return new DeferredSecurityContext() {
+            @Override public SecurityContext get() {return context.get();}
+            @Override public boolean isGenerated() {return context.get().getAuthentication() == null;}
+        };
+    }
+
+    @Override
+    @Deprecated
+    public SecurityContext loadContext( HttpRequestResponseHolder requestResponseHolder )
+    {
+        return readContext( requestResponseHolder.getRequest() );
+    }
+
+    @Override
+    public void saveContext( SecurityContext context, HttpServletRequest request, HttpServletResponse response )
+    {
+        Authentication authentication = context.getAuthentication();
+        if ( authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken )
+        {
+            if ( containsContext( request ) ) writeCookie( response, "", Duration.ZERO ); // logout
+            return;
+        }
+        long expiresAt = clock.instant().plus( ttl ).getEpochSecond();
+        String authorities = authentication.getAuthorities().stream()
+                                           .map( GrantedAuthority::getAuthority )
+                                           .collect( Collectors.joining( "," ) );
+        String payload = encode( authentication.getName() ) + "." + encode( authorities ) + "." + expiresAt;
+        writeCookie( response, payload + "." + sign( payload ), ttl );
+    }
+
+    @Override
+    public boolean containsContext( HttpServletRequest request )
+    {
+        return cookieValue( request ) != null;
+    }
+
+    /* An empty context (anonymous user) for a missing, tampered, malformed or expired cookie */
+    private SecurityContext readContext( HttpServletRequest request )
+    {
+        SecurityContext context = SecurityContextHolder.getContextHolderStrategy().createEmptyContext();
+        String value = cookieValue( request );
+        if ( value == null ) return context;
+
+        String[] parts = value.split( "\\.", -1 );
+        if ( parts.length != 4 ) return context;
+        String payload = parts[0] + "." + parts[1] + "." + parts[2];
+        try
+        {
+            if ( !MessageDigest.isEqual( sign( payload ).getBytes( StandardCharsets.US_ASCII ),
+                                         parts[3].getBytes( StandardCharsets.US_ASCII ) ) ) return context;
+            if ( Long.parseLong( parts[2] ) <= clock.instant().getEpochSecond() ) return context;
+
+            String username = decode( parts[0] );
+            List<GrantedAuthority> authorities = AuthorityUtils.commaSeparatedStringToAuthorityList( decode( parts[1] ) );
+            context.setAuthentication( UsernamePasswordAuthenticationToken.authenticated( username, null, authorities ) );
+        } catch ( IllegalArgumentException e ) // bad Base64 or expiry; the signature matched, so only after a secret leak
+        {
+            return SecurityContextHolder.getContextHolderStrategy().createEmptyContext();
+        }
+        return context;
+    }
+
+    private String cookieValue( HttpServletRequest request )
+    {
+        Cookie[] cookies = request.getCookies();
+        if ( cookies == null ) return null;
+        for ( Cookie cookie : cookies )
+        {
+            if ( cookieName.equals( cookie.getName() ) && StringUtils.hasText( cookie.getValue() ) ) return cookie.getValue();
+        }
+        return null;
+    }
+
+    // HttpOnly: scripts cannot read it; SameSite=Lax: not sent on cross-site POSTs (CSRF tokens still checked)
+    private void writeCookie( HttpServletResponse response, String value, Duration maxAge )
+    {
+        ResponseCookie cookie = ResponseCookie.from( cookieName, value )
+                                              .path( "/" )
+                                              .httpOnly( true )
+                                              .secure( secure )
+                                              .sameSite( "Lax" )
+                                              .maxAge( maxAge )
+                                              .build();
+        response.addHeader( HttpHeaders.SET_COOKIE, cookie.toString() );
+    }
+
+    // Mac instances are not thread-safe and cheap to create compared to the request
+    private String sign( String payload )
+    {
+        try
+        {
+            Mac mac = Mac.getInstance( HMAC_ALGORITHM );
+            mac.init( key );
+            return BASE64.encodeToString( mac.doFinal( payload.getBytes( StandardCharsets.US_ASCII ) ) );
+        } catch ( GeneralSecurityException e )
+        {
+            throw new IllegalStateException( HMAC_ALGORITHM + " is not available", e ); // required by every JDK
+        }
+    }
+
+    private static String encode( String text )
+    {
+        return BASE64.encodeToString( text.getBytes( StandardCharsets.UTF_8 ) );
+    }
+
+    private static String decode( String base64 )
+    {
+        return new String( BASE64_DECODER.decode( base64 ), StandardCharsets.UTF_8 );
+    }
+
+    // All replicas must share the secret: fail at startup instead of issuing cookies other replicas reject
+    private static byte[] decodeSecret( String secret )
+    {
+        byte[] bytes = StringUtils.hasText( secret ) ? Base64.getDecoder().decode( secret.strip() ) : new byte[0];
+        if ( bytes.length < MIN_SECRET_BYTES )
+        {
+            throw new IllegalStateException( "books.security.session-cookie.secret must be a Base64 key of at least "
+                                             + MIN_SECRET_BYTES + " bytes (e.g. openssl rand -base64 32)" );
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.books.config;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/*
+ * One token bucket per key (a username, an IP address), kept in memory with bounded size.
+ *
+ * - Token bucket: up to "capacity" attempts at once, then one more every "refillPeriod".
+ * - Lock striping: keys are spread over STRIPES maps, each with its own lock, so concurrent logins
+ *   for different keys rarely wait for each other (and never for a global lock).
+ * - Bounded memory: a bucket left idle long enough to be full again is the same as no bucket and is dropped;
+ *   each stripe's map is in access order, so expired buckets are found at its head on every access.
+ *   Beyond maxBuckets the least recently used bucket of the stripe is evicted.
+ */
+final class StripedTokenBuckets {
+
+    static final int STRIPES = 64;
+
+    private final double capacity;
+    private final long refillNanos; // time to earn one token
+    private final long idleExpiryNanos; // time to refill an empty bucket completely
+    private final LongSupplier clock;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    private static final class Bucket {
+        double tokens;
+        long updatedAt;
+    }
+
+    private static final class Stripe extends ReentrantLock {
+        final LinkedHashMap<String, Bucket> buckets;
+
+        Stripe( int maxBuckets )
+        {
+            this.buckets = new LinkedHashMap<>( 16, 0.75f, true ) {
+                @Override
+                protected boolean removeEldestEntry( Map.Entry<String, Bucket> eldest )
+                {
+                    return size() > maxBuckets;
+                }
+            };
+        }
+    }
+
+    StripedTokenBuckets( int capacity, Duration refillPeriod, int maxBuckets )
+    {
+        this( capacity, refillPeriod, maxBuckets, System::nanoTime );
+    }
+
+    StripedTokenBuckets( int capacity, Duration refillPeriod, int maxBuckets, LongSupplier clock )
+    {
+        this.capacity = capacity;
+        this.refillNanos = refillPeriod.toNanos();
+        this.idleExpiryNanos = refillNanos * capacity;
+        this.clock = clock;
+        int perStripe = Math.max( 1, maxBuckets / STRIPES );
+        for ( int i = 0; i < STRIPES; i++ ) stripes[i] = new Stripe( perStripe );
+    }
+
+    /* Takes one token: Duration.ZERO when allowed, otherwise the time until the next token */
+    Duration tryConsume( String key )
+    {
+        Stripe stripe = stripes[Math.floorMod( spread( key.hashCode() ), STRIPES )];
+        long now = clock.getAsLong();
+        stripe.lock();
+        try
+        {
+            expireIdle( stripe, now );
+            Bucket bucket = stripe.buckets.get( key );
+            if ( bucket == null )
+            {
+                bucket = new Bucket();
+                bucket.tokens = capacity;
+                stripe.buckets.put( key, bucket );
+            } else
+            {
+                bucket.tokens = Math.min( capacity, bucket.tokens + (double) ( now - bucket.updatedAt ) / refillNanos );
+            }
+            bucket.updatedAt = now;
+            if ( bucket.tokens >= 1 )
+            {
+                bucket.tokens -= 1;
+                return Duration.ZERO;
+            }
+            return Duration.ofNanos( (long) Math.ceil( ( 1 - bucket.tokens ) * refillNanos ) );
+        } finally
+        {
+            stripe.unlock();
+        }
+    }
+
+    /* Buckets in memory; also drops the expired ones of stripes that saw no attempt since they expired */
+    int size()
+    {
+        long now = clock.getAsLong();
+        int size = 0;
+        for ( Stripe stripe : stripes )
+        {
+            stripe.lock();
+            try
+            {
+                expireIdle( stripe, now );
+                size += stripe.buckets.size();
+            } finally
+            {
+                stripe.unlock();
+            }
+        }
+        return size;
+    }
+
+    // Caller holds the stripe lock. Access order: the least recently used buckets come first.
+    private void expireIdle( Stripe stripe, long now )
+    {
+        Iterator<Bucket> eldest = stripe.buckets.values().iterator();
+        while ( eldest.hasNext() )
+        {
+            if ( now - eldest.next().updatedAt < idleExpiryNanos ) return;
+            eldest.remove();
+        }
+    }
+
+    private static int spread( int hash )
+    {
+        return hash ^ ( hash >>> 16 );
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.books.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/*
+ * Reports carrier-thread pinning of the "virtual-threads" profile while the application runs.
+ *
+ * A virtual thread that blocks inside a synchronized block (or a native frame) cannot unmount: it keeps
+ * its carrier thread, and with enough of them the few carriers (one per CPU) are all blocked.
+ * The JDK records such waits as the JFR event jdk.VirtualThreadPinned; an in-process JFR stream receives them
+ * and every pinning longer than the threshold is
+ * - counted and timed in /actuator/metrics/jvm.threads.virtual.pinned, tagged source=jdbc when the stack
+ *   goes through the MySQL driver, HikariCP or java.sql (the blocking path of BookService), source=other otherwise;
+ * - logged at WARN with the top of the stack, to find the synchronized code responsible.
+ */
+@Component
+@Profile( "virtual-threads" )
+public class VirtualThreadPinningMonitor {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final List<String> JDBC_PACKAGES = List.of( "com.mysql.", "com.zaxxer.hikari.", "java.sql." );
+    private static final int LOGGED_FRAMES = 8;
+
+    private static final Logger log = LoggerFactory.getLogger( VirtualThreadPinningMonitor.class );
+
+    private final Duration threshold;
+    private final Timer jdbcPinning;
+    private final Timer otherPinning;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor( MeterRegistry registry,
+                                        @Value( "${books.virtual-threads.pinning-threshold:20ms}" ) Duration threshold )
+    {
+        this.threshold = threshold;
+        this.jdbcPinning = pinningTimer( registry, "jdbc" );
+        this.otherPinning = pinningTimer( registry, "other" );
+    }
+
+    @EventListener( ApplicationReadyEvent.class )
+    public synchronized void start()
+    {
+        if ( stream != null ) return;
+        stream = new RecordingStream();
+        stream.enable( PINNED_EVENT ).withThreshold( threshold ).withStackTrace();
+        stream.onEvent( PINNED_EVENT, this::onPinned );
+        stream.startAsync(); // events are delivered on the stream's own (platform) thread
+        log.info( "Reporting virtual thread pinning longer than {} ms", threshold.toMillis() );
+    }
+
+    @PreDestroy
+    public synchronized void stop()
+    {
+        if ( stream != null ) stream.close();
+        stream = null;
+    }
+
+    void onPinned( RecordedEvent event )
+    {
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        boolean jdbc = frames.stream().anyMatch( VirtualThreadPinningMonitor::isJdbcFrame );
+        ( jdbc ? jdbcPinning : otherPinning ).record( event.getDuration() );
+
+        String thread = event.getThread() == null ? "?" : "#" + event.getThread().getJavaThreadId(); // virtual threads are unnamed
+        log.warn( "Virtual thread {} pinned its carrier for {} ms ({}):\n\tat {}",
+                  thread, event.getDuration().toMillis(), jdbc ? "JDBC path" : "other",
+                  frames.stream().limit( LOGGED_FRAMES ).map( VirtualThreadPinningMonitor::format )
+                        .collect( Collectors.joining( "\n\tat " ) ) );
+    }
+
+    private static boolean isJdbcFrame( RecordedFrame frame )
+    {
+        String type = frame.getMethod().getType().getName();
+        return JDBC_PACKAGES.stream().anyMatch( type::startsWith );
+    }
+
+    private static String format( RecordedFrame frame )
+    {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    private static Timer pinningTimer( MeterRegistry registry, String source )
+    {
+        return Timer.builder( "jvm.threads.virtual.pinned" )
+                    .description( "Time virtual threads kept their carrier thread while blocked (JFR jdk.VirtualThreadPinned)" )
+                    .tag( "source", source )
+                    .register( registry );
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.books.controller;
+
+import com.example.books.service.ApiKeyService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/*
+ * Admin-only (see SecurityConfig): API keys for integration clients of /api/books.
+ * The key is in the response of POST only; store it in the client's secret store, it cannot be shown again.
+ */
+@RestController
+@RequestMapping( "/api/keys" )
+public class ApiKeyController {
+
+    private final ApiKeyService apiKeyService;
+
+    public ApiKeyController( ApiKeyService apiKeyService )
+    {
+        this.apiKeyService = apiKeyService;
+    }
+
+    @PostMapping
+    public ResponseEntity<ApiKeyService.IssuedApiKey> issueKey( @RequestParam String user, @RequestParam String name )
+    {
+        return apiKeyService.issue( user, name )
+                            .map( issued -> ResponseEntity.status( HttpStatus.CREATED ).body( issued ) )
+                            .orElseGet( () -> ResponseEntity.notFound().build() );
+    }
+
+    @DeleteMapping( "/{prefix}" )
+    public ResponseEntity<Void> revokeKey( @PathVariable String prefix )
+    {
+        return apiKeyService.revoke( prefix ) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+}
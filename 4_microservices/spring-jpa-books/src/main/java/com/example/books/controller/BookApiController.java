@@ -0,0 +1,150 @@
+package com.example.books.controller;
+
+import com.example.books.dto.BookSummary;
+import com.example.books.model.Book;
+import com.example.books.service.BookPage;
+import com.example.books.service.BookService;
+import com.example.books.service.CatalogVersion;
+import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/*
+ * JSON API of the catalog for mobile and integration clients (same data as the /books pages).
+ *
+ * Conditional GET: every response carries the catalog version as a strong ETag. A client polling with
+ * If-None-Match gets "304 Not Modified" (empty body, no query: the version is memoized) until a book is written,
+ * on this replica at once, on another one within books.catalog.version-max-age (see CatalogVersion).
+ * "Cache-Control: no-cache" lets clients keep the response but makes them revalidate it on every use.
+ * A single book uses its own version as ETag instead, which PUT accepts back in If-Match (admins only).
+ */
+@RestController
+@RequestMapping( "/api/books" )
+public class BookApiController {
+
+    private final BookService bookService;
+    private final CatalogVersion catalogVersion;
+
+    public BookApiController( BookService bookService, CatalogVersion catalogVersion )
+    {
+        this.bookService = bookService;
+        this.catalogVersion = catalogVersion;
+    }
+
+    @GetMapping
+    public ResponseEntity<BookPage> listBooks( @RequestParam( required = false ) String sort,
+                                               @RequestParam( required = false ) String after,
+                                               @RequestParam( required = false ) String before,
+                                               @RequestParam( defaultValue = "" + BookService.DEFAULT_PAGE_SIZE ) int size,
+                                               WebRequest request )
+    {
+        // Read the version BEFORE the data: a write committed in between makes the ETag older than the body
+        // (the next poll re-downloads), never newer (which could hide that write behind a 304)
+        String etag = catalogVersion.etag();
+        if ( request.checkNotModified( etag ) )
+        {
+            return null; // 304, headers already set by checkNotModified
+        }
+        BookPage page = bookService.findPage( sort, after, before, size );
+        return ResponseEntity.ok().eTag( etag ).cacheControl( CacheControl.noCache() ).body( page );
+    }
+
+    /* Single book: the ETag is the book's own version (@Version), so it can also be sent back in If-Match */
+    @GetMapping( "/{id}" )
+    public ResponseEntity<BookSummary> getBook( @PathVariable Long id, WebRequest request )
+    {
+        Optional<Book> book = bookService.findById( id );
+        if ( book.isEmpty() ) return ResponseEntity.notFound().build();
+
+        String etag = etagOf( book.get() );
+        if ( request.checkNotModified( etag ) )
+        {
+            return null;
+        }
+        return ResponseEntity.ok().eTag( etag ).cacheControl( CacheControl.noCache() ).body( summaryOf( book.get() ) );
+    }
+
+    /*
+     * Conditional update ("lost update" protection without locks): the client sends back the ETag it read.
+     * - no If-Match: 428 Precondition Required (blind overwrites are refused)
+     * - If-Match not the current version: 412 Precondition Failed, with the current ETag
+     * - otherwise 200 with the updated book and its new ETag; a client may re-read and retry on 412
+     * "If-Match: *" accepts any version of an existing book: an unconditional update, which never ends in 412.
+     */
+    @PutMapping( "/{id}" )
+    public ResponseEntity<BookSummary> updateBook( @PathVariable Long id,
+                                                   @RequestHeader( name = HttpHeaders.IF_MATCH, required = false ) String ifMatch,
+                                                   @Valid @RequestBody Book newData )
+    {
+        if ( ifMatch == null || ifMatch.isBlank() ) return ResponseEntity.status( HttpStatus.PRECONDITION_REQUIRED ).build();
+
+        if ( ifMatch.strip().equals( "*" ) )
+        {
+            return bookService.overwriteBook( id, newData )
+                              .map( updated -> ResponseEntity.ok().eTag( etagOf( updated ) ).body( summaryOf( updated ) ) )
+                              .orElseGet( () -> ResponseEntity.notFound().build() );
+        }
+
+        OptionalLong expectedVersion = versionOf( ifMatch );
+        try
+        {
+            if ( expectedVersion.isEmpty() ) // an ETag that can never match
+            {
+                throw new ObjectOptimisticLockingFailureException( Book.class, id );
+            }
+            newData.setVersion( expectedVersion.getAsLong() );
+            return bookService.updateBook( id, newData )
+                              .map( updated -> ResponseEntity.ok().eTag( etagOf( updated ) ).body( summaryOf( updated ) ) )
+                              .orElseGet( () -> ResponseEntity.notFound().build() );
+        } catch ( ObjectOptimisticLockingFailureException e )
+        {
+            return bookService.findById( id )
+                              .map( this::preconditionFailed )
+                              .orElseGet( () -> ResponseEntity.notFound().build() );
+        }
+    }
+
+    private ResponseEntity<BookSummary> preconditionFailed( Book current )
+    {
+        return ResponseEntity.status( HttpStatus.PRECONDITION_FAILED ).eTag( etagOf( current ) ).build();
+    }
+
+    private static String etagOf( Book book )
+    {
+        return "\"" + book.getVersion() + "\"";
+    }
+
+    // Strong comparison (RFC 9110): weak ("W/...") or malformed validators never match
+    static OptionalLong versionOf( String ifMatch )
+    {
+        String value = ifMatch.strip();
+        if ( value.length() < 3 || !value.startsWith( "\"" ) || !value.endsWith( "\"" ) ) return OptionalLong.empty();
+        try
+        {
+            return OptionalLong.of( Long.parseLong( value.substring( 1, value.length() - 1 ) ) );
+        } catch ( NumberFormatException e )
+        {
+            return OptionalLong.empty();
+        }
+    }
+
+    private static BookSummary summaryOf( Book book )
+    {
+        return new BookSummary( book.getId(), book.getTitle(), book.getPrice() );
+    }
+}
@@ -1,8 +1,23 @@
 package com.example.books.controller;
 
+import com.example.books.dto.BookSummary;
+import com.example.books.dto.TitleSuggestion;
 import com.example.books.model.Book;
+import com.example.books.service.BookBulkResult;
+import com.example.books.service.BookBulkService;
+import com.example.books.service.BookExportFormat;
+import com.example.books.service.BookExportService;
+import com.example.books.service.BookImportReport;
+import com.example.books.service.BookImportService;
+import com.example.books.service.BookPage;
 import com.example.books.service.BookService;
+import com.example.books.service.TitleSuggestionService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -10,17 +25,37 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 @Controller
 public class BookController {
 
     private final BookService bookService;
+    private final TitleSuggestionService titleSuggestionService;
+    private final BookImportService bookImportService;
+    private final BookExportService bookExportService;
+    private final BookBulkService bookBulkService;
 
-    public BookController( BookService bookService )
+    public BookController( BookService bookService, TitleSuggestionService titleSuggestionService,
+                           BookImportService bookImportService, BookExportService bookExportService,
+                           BookBulkService bookBulkService )
     {
         this.bookService = bookService;
+        this.titleSuggestionService = titleSuggestionService;
+        this.bookImportService = bookImportService;
+        this.bookExportService = bookExportService;
+        this.bookBulkService = bookBulkService;
     }
 
     @GetMapping( "/login" )
@@ -30,12 +65,42 @@ public class BookController {
     }
 
     @GetMapping( "/books" )
-    public String listBooks( Model model )
+    public String listBooks( @RequestParam( required = false ) String sort,
+                             @RequestParam( required = false ) String after,
+                             @RequestParam( required = false ) String before,
+                             @RequestParam( defaultValue = "" + BookService.DEFAULT_PAGE_SIZE ) int size,
+                             Model model )
     {
-        model.addAttribute( "books", bookService.findAll() );
+        // Keyset pagination: only one page of books is loaded, whatever the size of the catalog
+        BookPage page = bookService.findPage( sort, after, before, size );
+        model.addAttribute( "page", page );
+        model.addAttribute( "books", page.books() );
         return "books";
     }
 
+    @GetMapping( "/books/search" )
+    public String searchBooks( @RequestParam( name = "q", defaultValue = "" ) String query,
+                               @RequestParam( defaultValue = "0" ) int page,
+                               @RequestParam( defaultValue = "" + BookService.DEFAULT_PAGE_SIZE ) int size,
+                               Model model )
+    {
+        // MATCH ... AGAINST on the FULLTEXT index instead of a LIKE '%term%' scan of tbl_book
+        Page<BookSummary> results = bookService.searchByTitle( query, page, size );
+        model.addAttribute( "query", query );
+        model.addAttribute( "results", results );
+        model.addAttribute( "books", results.getContent() );
+        return "search_books";
+    }
+
+    // Type-ahead for the search box: JSON [{"id":..,"title":".."}], served from memory (no database access)
+    @GetMapping( "/books/suggest" )
+    @ResponseBody
+    public List<TitleSuggestion> suggestTitles( @RequestParam( name = "q", defaultValue = "" ) String query,
+                                                @RequestParam( defaultValue = "" + TitleSuggestionService.DEFAULT_LIMIT ) int limit )
+    {
+        return titleSuggestionService.suggest( query, limit );
+    }
+
     @ModelAttribute( "book" )
     private Book bindBookToHtmlForm()
     {
@@ -59,6 +124,92 @@ public class BookController {
         return "redirect:/books";
     }
 
+    @GetMapping( "/books/import" )
+    public String showImportForm()
+    {
+        return "import_books";
+    }
+
+    @PostMapping( "/books/import" )
+    public String importBooks( @RequestParam( "file" ) MultipartFile file, Model model ) throws IOException
+    {
+        if ( file.isEmpty() )
+        {
+            model.addAttribute( "error", "Please choose a non-empty CSV file." );
+            return "import_books";
+        }
+        // Stream the upload; the service reads it line by line instead of loading it with getBytes()
+        try ( InputStream csv = file.getInputStream() )
+        {
+            BookImportReport report = bookImportService.importCsv( csv );
+            model.addAttribute( "fileName", file.getOriginalFilename() );
+            model.addAttribute( "report", report );
+        }
+        return "import_books";
+    }
+
+    // Download of the whole catalog (?format=csv|ndjson), written to the response while rows are read
+    @GetMapping( "/books/export" )
+    public void exportBooks( @RequestParam( required = false ) String format, HttpServletResponse response ) throws IOException
+    {
+        BookExportFormat exportFormat = BookExportFormat.from( format );
+        String fileName = "books-" + LocalDate.now() + "." + exportFormat.fileExtension();
+        response.setContentType( exportFormat.contentType() );
+        response.setHeader( HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename( fileName ).build().toString() );
+        try ( OutputStream output = response.getOutputStream() )
+        {
+            bookExportService.export( exportFormat, output );
+        }
+    }
+
+    @GetMapping( "/books/bulk" )
+    public String showBulkForm()
+    {
+        return "bulk_books";
+    }
+
+    @PostMapping( "/books/bulk/delete" )
+    public String bulkDelete( @RequestParam( defaultValue = "" ) String ids, Model model )
+    {
+        List<Long> bookIds;
+        try
+        {
+            // ids separated by commas, spaces or line breaks (e.g. pasted from a spreadsheet column)
+            bookIds = Arrays.stream( ids.split( "[\\s,;]+" ) ).filter( id -> !id.isEmpty() ).map( Long::valueOf ).toList();
+        } catch ( NumberFormatException e )
+        {
+            model.addAttribute( "error", "Ids must be whole numbers: " + e.getMessage() );
+            return "bulk_books";
+        }
+        if ( bookIds.isEmpty() )
+        {
+            model.addAttribute( "error", "Please enter at least one book id." );
+            return "bulk_books";
+        }
+        BookBulkResult result = bookBulkService.deleteAll( bookIds );
+        model.addAttribute( "result", result.affected() + " book(s) deleted" );
+        model.addAttribute( "bulk", result );
+        return "bulk_books";
+    }
+
+    @PostMapping( "/books/bulk/reprice" )
+    public String bulkReprice( @RequestParam BigDecimal percent,
+                               @RequestParam( defaultValue = "0" ) BigDecimal minPrice,
+                               @RequestParam( defaultValue = "" + Book.MAX_PRICE ) BigDecimal maxPrice,
+                               Model model )
+    {
+        try
+        {
+            BookBulkResult result = bookBulkService.adjustPrices( percent, minPrice, maxPrice );
+            model.addAttribute( "result", result.affected() + " book(s) repriced by " + percent.stripTrailingZeros().toPlainString() + "%" );
+            model.addAttribute( "bulk", result );
+        } catch ( IllegalArgumentException e )
+        {
+            model.addAttribute( "error", e.getMessage() );
+        }
+        return "bulk_books";
+    }
+
     @GetMapping( "/books/delete/{id}" )
     public String deleteBook( @PathVariable Long id )
     {
@@ -80,12 +231,25 @@ public class BookController {
     @PostMapping("/books/edit/{id}")
     public String updateBook(@PathVariable("id") Long id,
                              @Valid @ModelAttribute("book") Book book,
-                             BindingResult result) {
+                             BindingResult result,
+                             Model model) {
         if (result.hasErrors()) {
             return "edit_book";
         }
 
-        bookService.updateBook(id, book);  // Delegates to dirty-checking logic
+        try
+        {
+            bookService.updateBook(id, book);  // One versioned UPDATE statement (no SELECT first)
+        } catch ( ObjectOptimisticLockingFailureException e )
+        {
+            // Someone saved this book after the form was loaded: show their values next to the user's input.
+            // The form now carries the current version, so submitting it again deliberately overwrites them.
+            Optional<Book> current = bookService.findById( id );
+            if ( current.isEmpty() ) return "redirect:/books"; // deleted in the meantime
+            book.setVersion( current.get().getVersion() );
+            model.addAttribute( "currentBook", current.get() );
+            return "edit_book";
+        }
 
         return "redirect:/books"; // Redirect after updating
     }
@@ -0,0 +1,49 @@
+package com.example.books.controller;
+
+import com.example.books.service.UserProvisioningReport;
+import com.example.books.service.UserProvisioningService;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/* Admin-only (see SecurityConfig): bulk creation of user accounts from a CSV file */
+@Controller
+public class UserProvisioningController {
+
+    private final UserProvisioningService userProvisioningService;
+
+    public UserProvisioningController( UserProvisioningService userProvisioningService )
+    {
+        this.userProvisioningService = userProvisioningService;
+    }
+
+    @GetMapping( "/users/import" )
+    public String showImportForm()
+    {
+        return "import_users";
+    }
+
+    @PostMapping( "/users/import" )
+    public String importUsers( @RequestParam( "file" ) MultipartFile file, Model model ) throws IOException
+    {
+        if ( file.isEmpty() )
+        {
+            model.addAttribute( "error", "Please choose a non-empty CSV file." );
+            return "import_users";
+        }
+        // Stream the upload; the service reads it line by line instead of loading it with getBytes()
+        try ( InputStream csv = file.getInputStream() )
+        {
+            UserProvisioningReport report = userProvisioningService.provisionCsv( csv );
+            model.addAttribute( "fileName", file.getOriginalFilename() );
+            model.addAttribute( "report", report );
+        }
+        return "import_users";
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.books.dto;
+
+/*
+ * What an API-key authentication needs from tbl_api_key and tbl_user, as an immutable record that can be cached
+ * (ApiKeyService.findCredentials): the digest to compare with, and the user the key authenticates as.
+ */
+public record ApiKeyCredentials( Long id, byte[] digest, String userName, Long roleId ) {}
@@ -0,0 +1,10 @@
+package com.example.books.dto;
+
+import java.math.BigDecimal;
+
+/*
+ * Read-only view of a book for listing pages (Spring Data class-based/DTO projection).
+ * Spring Data selects only these three columns into the record ("select new ..."),
+ * so no Book entity is hydrated and nothing is registered in the persistence context.
+ */
+public record BookSummary( Long id, String title, BigDecimal price ) {}
@@ -0,0 +1,4 @@
+package com.example.books.dto;
+
+/* One /books/suggest result, serialized as {"id": ..., "title": "..."} */
+public record TitleSuggestion( Long id, String title ) {}
@@ -0,0 +1,7 @@
+package com.example.books.dto;
+
+/*
+ * What a login needs from tbl_user, as an immutable record that can be cached (UserService.findCredentials):
+ * the role is kept as its id only and resolved through the preloaded RoleAuthorityRegistry, so no join is needed.
+ */
+public record UserCredentials( Long id, String name, String passwordHash, Long roleId ) {}
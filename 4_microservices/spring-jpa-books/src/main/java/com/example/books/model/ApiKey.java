@@ -0,0 +1,56 @@
+package com.example.books.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/* An API key of a machine client (V10 migration): only its public prefix and the SHA-256 of its secret are stored */
+@Entity
+@Table( name = "tbl_api_key" )
+public class ApiKey {
+    @Id
+    @GeneratedValue( strategy = GenerationType.IDENTITY )
+    @Column( name = "api_key_id", updatable = false, nullable = false )
+    private Long id;
+
+    @Column( name = "key_prefix", nullable = false, length = 16, updatable = false, unique = true ) // UNIQ_API_KEY_PREFIX
+    private String prefix;
+
+    @Column( name = "key_digest", nullable = false, length = 32, updatable = false )
+    private byte[] digest;
+
+    @Column( name = "key_name", nullable = false, length = 250 )
+    private String name;
+
+    @ManyToOne( fetch = FetchType.LAZY, optional = false )
+    @JoinColumn( name = "key_fk_user", referencedColumnName = "user_id", updatable = false )
+    private User user;
+
+    @Column( name = "key_created_at", nullable = false, updatable = false )
+    private Instant createdAt;
+
+    public ApiKey() {}
+    public ApiKey( String prefix, byte[] digest, String name, User user )
+    {
+        this.prefix = prefix;
+        this.digest = digest;
+        this.name = name;
+        this.user = user;
+        this.createdAt = Instant.now();
+    }
+
+    public Long getId() {return id;}
+    public String getPrefix() {return prefix;}
+    public byte[] getDigest() {return digest;}
+    public String getName() {return name;}
+    public User getUser() {return user;}
+    public Instant getCreatedAt() {return createdAt;}
+}
@@ -1,23 +1,31 @@
 package com.example.books.model;
 
 import com.example.books.constraints.PriceLimit;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.util.Objects;
 
 @Entity
 @Table( name = "tbl_book" )
+@Cacheable // L2 cache opt-in; only takes effect when the "l2cache" profile enables Hibernate's second-level cache
+@Cache( usage = CacheConcurrencyStrategy.READ_WRITE, region = "book-entity" ) // books are edited: soft-locked while updating
 public class Book {
+    public static final double MAX_PRICE = 3000D; // @PriceLimit below; also enforced by bulk repricing (BookBulkService)
+
     @Id
     @GeneratedValue( strategy = GenerationType.IDENTITY )
     @Column( name = "book_id", nullable = false, updatable = false )
@@ -30,10 +38,15 @@ public class Book {
 
     @NotNull( message = "Price is required" ) // ensures the price is present.
     @Positive( message = "Price must be greater than zero" )
-    @PriceLimit(limit = 3000D) // my customized constraint annotation
+    @PriceLimit(limit = MAX_PRICE) // my customized constraint annotation
     @Column( name = "book_price", nullable = false, precision = 10, scale = 2 )
     private BigDecimal price;
 
+    // Optimistic locking: the version read by an editor must still be current when its update is flushed
+    @Version
+    @Column( name = "book_version", nullable = false )
+    private long version;
+
     public Book()
     {
     }
@@ -54,12 +67,16 @@ public class Book {
     public BigDecimal getPrice() {return price;}
     public void setPrice( BigDecimal price ) {this.price = price;}
 
+    public long getVersion() {return version;}
+    public void setVersion( long version ) {this.version = version;}
+
     @Override public String toString()
     {
         return "Book{" +
                "id=" + id +
                ", title='" + title + '\'' +
                ", price=" + price +
+               ", version=" + version +
                '}';
     }
 
@@ -1,16 +1,21 @@
 package com.example.books.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.Objects;
 
 @Entity
 @Table( name = "tbl_role" )
+@Cacheable // L2 cache opt-in ("l2cache" profile)
+@Cache( usage = CacheConcurrencyStrategy.READ_ONLY, region = "role-entity" ) // reference data: inserted, never updated
 public class Role {
     @Id
     @GeneratedValue( strategy = GenerationType.IDENTITY )
@@ -1,5 +1,6 @@
 package com.example.books.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -10,18 +11,22 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.Objects;
 
 @Entity
 @Table( name = "tbl_user" )
+@Cacheable // L2 cache opt-in ("l2cache" profile)
+@Cache( usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-entity" )
 public class User {
     @Id
     @GeneratedValue( strategy = GenerationType.IDENTITY )
     @Column( name = "user_id", updatable = false, nullable = false )
     private Long id;
 
-    @Column( name = "user_name", nullable = false, length = 250 )
+    @Column( name = "user_name", nullable = false, length = 250, unique = true ) // UNIQ_USERNAME (V8 migration)
     private String name;
 
     @Column( name = "user_password", nullable = false, length = 250 )
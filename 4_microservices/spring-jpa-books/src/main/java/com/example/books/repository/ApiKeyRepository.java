@@ -0,0 +1,23 @@
+package com.example.books.repository;
+
+import com.example.books.dto.ApiKeyCredentials;
+import com.example.books.model.ApiKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface ApiKeyRepository extends JpaRepository<ApiKey, Long> {
+
+    /* One indexed lookup (UNIQ_API_KEY_PREFIX) joined with the owner; the role id comes from user_fk_role */
+    @Query( """
+        SELECT new com.example.books.dto.ApiKeyCredentials(k.id, k.digest, u.name, u.role.id)
+        FROM ApiKey k JOIN k.user u WHERE k.prefix = :prefix""" )
+    Optional<ApiKeyCredentials> findCredentialsByPrefix( @Param( "prefix" ) String prefix );
+
+    @Modifying
+    @Query( "DELETE FROM ApiKey k WHERE k.prefix = :prefix" )
+    int deleteByPrefix( @Param( "prefix" ) String prefix );
+}
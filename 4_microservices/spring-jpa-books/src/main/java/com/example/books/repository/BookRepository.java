@@ -1,7 +1,129 @@
 package com.example.books.repository;
 
+import com.example.books.dto.BookSummary;
+import com.example.books.dto.TitleSuggestion;
 import com.example.books.model.Book;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookRepository extends JpaRepository<Book, Long> {
-}
\ No newline at end of file
+
+    // Query cache region of the listings (hibernate-l2cache.conf); writes outside Hibernate must evict it themselves
+    String LISTING_QUERY_REGION = "book-listing-query";
+
+    /* Keyset (seek) scrolling: with a KeysetScrollPosition, Spring Data renders
+     * "WHERE (sort keys) > (last seen keys) ORDER BY ... LIMIT n" instead of an OFFSET,
+     * so the cost of a page does not grow with the size of tbl_book. */
+    Window<Book> findAllBy( ScrollPosition position, Sort sort, Limit limit );
+
+    /* Same keyset scrolling, projected into BookSummary records (id, title, price):
+     * used by the read-only listings, which never modify what they display. */
+    @QueryHints( { // query cache ("l2cache" profile): a repeated page is served from the query cache
+        @QueryHint( name = HibernateHints.HINT_CACHEABLE, value = "true" ),
+        @QueryHint( name = HibernateHints.HINT_CACHE_REGION, value = LISTING_QUERY_REGION )
+    } )
+    Window<BookSummary> findSummariesBy( ScrollPosition position, Sort sort, Limit limit );
+
+    /* Full-text title search (FULLTEXT index FTX_BOOK_TITLE, see V5 migration), best matches first.
+     * "terms" uses the MySQL boolean mode syntax (e.g. "+lord* +ring*"); BookService builds it from user input. */
+    @Query( value = """
+                SELECT b.book_id AS id, b.book_title AS title, b.book_price AS price
+                FROM tbl_book b
+                WHERE MATCH (b.book_title) AGAINST (:terms IN BOOLEAN MODE)
+                ORDER BY MATCH (b.book_title) AGAINST (:terms IN BOOLEAN MODE) DESC, b.book_id
+                """,
+            countQuery = "SELECT COUNT(*) FROM tbl_book b WHERE MATCH (b.book_title) AGAINST (:terms IN BOOLEAN MODE)",
+            nativeQuery = true )
+    Page<BookSummary> searchByTitle( @Param( "terms" ) String terms, Pageable pageable );
+
+    /* Id and title of every book (DTO projection): loads the title suggestion index at startup */
+    List<TitleSuggestion> findTitlesBy();
+
+    /* Whole catalog as a Stream, for exports (BookExportService). Must be consumed inside a transaction and closed.
+     * - fetch size Integer.MIN_VALUE: MySQL Connector/J streams rows one by one instead of loading the whole result set
+     * - read-only: Hibernate keeps no snapshots for dirty checking
+     * - cache mode IGNORE: exported books are not pushed into the second-level cache ("l2cache" profile) */
+    @Query( "SELECT b FROM Book b ORDER BY b.id" )
+    @QueryHints( {
+        @QueryHint( name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE ),
+        @QueryHint( name = HibernateHints.HINT_READ_ONLY, value = "true" ),
+        @QueryHint( name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE" )
+    } )
+    Stream<Book> streamAllBy();
+
+    /* ---- Single-book writes (BookService): one UPDATE/DELETE statement, no SELECT of the entity first ----
+     * They return the affected rows (0 = no such book, or, for the update, a stale version).
+     * clearAutomatically: a managed copy of the book would otherwise keep its old state. */
+
+    @Modifying( flushAutomatically = true, clearAutomatically = true )
+    @Query( """
+            UPDATE Book b SET b.title = :title, b.price = :price, b.version = b.version + 1
+            WHERE b.id = :id AND b.version = :version
+            """ )
+    int updateIfVersion( @Param( "id" ) Long id, @Param( "version" ) long version,
+                         @Param( "title" ) String title, @Param( "price" ) BigDecimal price );
+
+    // "If-Match: *": whatever the current version is, still one statement that moves it forward
+    @Modifying( flushAutomatically = true, clearAutomatically = true )
+    @Query( """
+            UPDATE Book b SET b.title = :title, b.price = :price, b.version = b.version + 1
+            WHERE b.id = :id
+            """ )
+    int updateUnconditionally( @Param( "id" ) Long id, @Param( "title" ) String title, @Param( "price" ) BigDecimal price );
+
+    @Query( "SELECT b.version FROM Book b WHERE b.id = :id" )
+    Optional<Long> findVersionById( @Param( "id" ) Long id );
+
+    @Modifying( flushAutomatically = true, clearAutomatically = true )
+    @Query( "DELETE FROM Book b WHERE b.id = :id" )
+    int deleteBookById( @Param( "id" ) Long id );
+
+    /* ---- Set-based bulk operations (BookBulkService): one DELETE/UPDATE statement, no entity is loaded ----
+     * clearAutomatically: books of the persistence context would otherwise keep their old state. */
+
+    @Modifying( flushAutomatically = true, clearAutomatically = true )
+    @Query( "DELETE FROM Book b WHERE b.id IN :ids" )
+    int deleteByIds( @Param( "ids" ) Collection<Long> ids );
+
+    /* Multiplies the price of the books of one id range whose price is within [minPrice, maxPrice].
+     * Books whose new price would leave (0, priceLimit) are left unchanged, like @PriceLimit/@Positive would refuse.
+     * The cast keeps the factor's decimals: otherwise Hibernate binds it with the type of b.price, DECIMAL(10,2),
+     * and a factor of 1.125 (+12.5%) would become 1.13.
+     * Bulk updates bypass @Version, so the version is incremented explicitly: open edit forms become stale. */
+    @Modifying( flushAutomatically = true, clearAutomatically = true )
+    @Query( """
+            UPDATE Book b SET b.price = ROUND(b.price * CAST(:factor AS BigDecimal(12, 6)), 2), b.version = b.version + 1
+            WHERE b.id BETWEEN :fromId AND :toId
+              AND b.price BETWEEN :minPrice AND :maxPrice
+              AND ROUND(b.price * CAST(:factor AS BigDecimal(12, 6)), 2) > 0
+              AND ROUND(b.price * CAST(:factor AS BigDecimal(12, 6)), 2) < :priceLimit
+            """ )
+    int adjustPrices( @Param( "fromId" ) Long fromId, @Param( "toId" ) Long toId,
+                      @Param( "minPrice" ) BigDecimal minPrice, @Param( "maxPrice" ) BigDecimal maxPrice,
+                      @Param( "factor" ) BigDecimal factor, @Param( "priceLimit" ) BigDecimal priceLimit );
+
+    @Query( "SELECT MAX(b.id) FROM Book b" )
+    Long findMaxId();
+
+    /* Id of the book "offset" rows after fromId (PK index range scan): upper bound of a chunk of offset + 1 books */
+    @Query( value = "SELECT book_id FROM tbl_book WHERE book_id >= :fromId ORDER BY book_id LIMIT 1 OFFSET :offset",
+            nativeQuery = true )
+    Optional<Long> findIdAtOffset( @Param( "fromId" ) long fromId, @Param( "offset" ) int offset );
+}
@@ -1,14 +1,36 @@
 package com.example.books.repository;
 
+import com.example.books.dto.UserCredentials;
 import com.example.books.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    /* Whole user with its role (one JOIN FETCH), for the repository tests; the login uses findCredentialsByName */
     @Query( "SELECT u FROM User u JOIN FETCH u.role WHERE u.name = :name" )
     Optional<User> findUserWithRoleByName( @Param( "name" ) String name );
-}
\ No newline at end of file
+
+    /* Login lookup without the join: the role id is read from the user_fk_role column (authorities: RoleAuthorityRegistry) */
+    @Query( "SELECT new com.example.books.dto.UserCredentials(u.id, u.name, u.password, u.role.id) FROM User u WHERE u.name = :name" )
+    Optional<UserCredentials> findCredentialsByName( @Param( "name" ) String name );
+
+    /* Which of these names are taken (one IN query on UNIQ_USERNAME per provisioning chunk), as stored in tbl_user */
+    @Query( "SELECT u.name FROM User u WHERE u.name IN :names" )
+    List<String> findExistingNames( @Param( "names" ) Collection<String> names );
+
+    /* Re-hash on login (new BCrypt cost): only replaces the hash that was verified, so a concurrent
+     * password change is never overwritten. Returns the rows updated (0 = the hash changed meanwhile). */
+    @Transactional
+    @Modifying( clearAutomatically = true )
+    @Query( "UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :verifiedHash" )
+    int updatePasswordHash( @Param( "id" ) Long id, @Param( "verifiedHash" ) String verifiedHash,
+                            @Param( "newHash" ) String newHash );
+}
@@ -0,0 +1,109 @@
+package com.example.books.service;
+
+import com.example.books.dto.ApiKeyCredentials;
+import com.example.books.model.ApiKey;
+import com.example.books.repository.ApiKeyRepository;
+import com.example.books.repository.UserRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Optional;
+
+import static com.example.books.config.CacheConfig.API_KEY_CACHE;
+
+/*
+ * API keys of machine clients (see ApiKeyAuthenticationProvider).
+ *
+ * A key is "<prefix>.<secret>": 12 + 43 Base64url characters from 9 + 32 random bytes. The prefix is public and
+ * indexed (one lookup, no scan over every digest); the secret is only kept as its SHA-256 and compared in constant time.
+ * Verifying a key costs one cache lookup and one SHA-256 (microseconds), where a form login costs a BCrypt check.
+ *
+ * The credentials are cached by prefix with the TTL of spring.cache.caffeine.spec. Revoking evicts the key on this
+ * replica; other replicas accept it until their entry expires. Unknown prefixes are not cached.
+ */
+@Service
+public class ApiKeyService {
+
+    static final int PREFIX_LENGTH = 12;
+    private static final int PREFIX_BYTES = 9;
+    private static final int SECRET_BYTES = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder BASE64 = Base64.getUrlEncoder().withoutPadding();
+
+    /* The only time the full key exists outside the client: it is not stored, so it cannot be shown again */
+    public record IssuedApiKey( String prefix, String name, String userName, String key ) {}
+
+    private final ApiKeyRepository apiKeyRepository;
+    private final UserRepository userRepository;
+
+    public ApiKeyService( ApiKeyRepository apiKeyRepository, UserRepository userRepository )
+    {
+        this.apiKeyRepository = apiKeyRepository;
+        this.userRepository = userRepository;
+    }
+
+    @Cacheable( cacheNames = API_KEY_CACHE, unless = "#result == null" )
+    @Transactional( readOnly = true )
+    public Optional<ApiKeyCredentials> findCredentials( String prefix )
+    {
+        return apiKeyRepository.findCredentialsByPrefix( prefix );
+    }
+
+    /* A new key for this user, with the user's role; empty when there is no such user */
+    @Transactional
+    public Optional<IssuedApiKey> issue( String userName, String keyName )
+    {
+        return userRepository.findCredentialsByName( userName ).map( user -> {
+            String prefix = randomBase64( PREFIX_BYTES );
+            String secret = randomBase64( SECRET_BYTES );
+            apiKeyRepository.save( new ApiKey( prefix, digest( secret ), keyName, userRepository.getReferenceById( user.id() ) ) );
+            return new IssuedApiKey( prefix, keyName, user.name(), prefix + "." + secret );
+        } );
+    }
+
+    /* False when there was no key with this prefix */
+    @CacheEvict( cacheNames = API_KEY_CACHE, key = "#prefix" )
+    @Transactional
+    public boolean revoke( String prefix )
+    {
+        return apiKeyRepository.deleteByPrefix( prefix ) == 1;
+    }
+
+    /* The public part of "<prefix>.<secret>"; empty when the key does not have that shape */
+    public static Optional<String> prefixOf( String key )
+    {
+        if ( key == null || key.length() <= PREFIX_LENGTH + 1 || key.charAt( PREFIX_LENGTH ) != '.' ) return Optional.empty();
+        return Optional.of( key.substring( 0, PREFIX_LENGTH ) );
+    }
+
+    /* Whether the secret part of the key hashes to the stored digest; constant time, whatever bytes differ */
+    public static boolean secretMatches( String key, byte[] storedDigest )
+    {
+        return MessageDigest.isEqual( digest( key.substring( PREFIX_LENGTH + 1 ) ), storedDigest );
+    }
+
+    static byte[] digest( String secret )
+    {
+        try
+        {
+            return MessageDigest.getInstance( "SHA-256" ).digest( secret.getBytes( StandardCharsets.US_ASCII ) );
+        } catch ( NoSuchAlgorithmException e )
+        {
+            throw new IllegalStateException( "SHA-256 is not available", e ); // required by every JDK
+        }
+    }
+
+    private static String randomBase64( int bytes )
+    {
+        byte[] random = new byte[bytes];
+        RANDOM.nextBytes( random );
+        return BASE64.encodeToString( random );
+    }
+}
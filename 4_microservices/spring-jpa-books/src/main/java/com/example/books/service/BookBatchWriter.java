@@ -0,0 +1,16 @@
+package com.example.books.service;
+
+import com.example.books.model.Book;
+
+import java.util.List;
+
+/*
+ * Inserts one chunk of new books as a batch, inside the caller's transaction, and sets their generated ids.
+ * The implementation follows the id strategy of tbl_book:
+ * - JdbcBookBatchWriter (default): AUTO_INCREMENT ids, JDBC batch insert
+ * - JpaBookBatchWriter ("pooled-ids" profile): ids from the pooled allocator, Hibernate JDBC batching
+ */
+public interface BookBatchWriter {
+
+    void insert( List<Book> books );
+}
@@ -0,0 +1,6 @@
+package com.example.books.service;
+
+import java.time.Duration;
+
+/* Outcome of a bulk delete/reprice: rows changed, number of chunk statements (= short transactions) and duration */
+public record BookBulkResult( long affected, int statements, Duration elapsed ) {}
@@ -0,0 +1,127 @@
+package com.example.books.service;
+
+import com.example.books.model.Book;
+import com.example.books.repository.BookRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+import static com.example.books.config.CacheConfig.BOOK_CACHE;
+import static com.example.books.config.CacheConfig.BOOK_PAGES_CACHE;
+
+/*
+ * Admin bulk operations executed as set-based statements (BookRepository @Modifying queries) instead of
+ * loading and changing one entity at a time.
+ *
+ * Work is split in chunks, each one a single statement in its own short transaction, so InnoDB row locks
+ * are held for one chunk only and concurrent readers/editors of other books are not blocked by a long UPDATE.
+ * Every chunk that changed rows increments the CatalogVersion in its own transaction.
+ */
+@Service
+public class BookBulkService {
+
+    public static final int DELETE_CHUNK_SIZE = 500; // ids per "DELETE ... WHERE id IN (...)"
+    public static final int UPDATE_CHUNK_SIZE = 1_000; // books per "UPDATE ... WHERE id BETWEEN ? AND ?"
+    public static final BigDecimal MIN_PERCENT = new BigDecimal( "-90" );
+    public static final BigDecimal MAX_PERCENT = new BigDecimal( "200" );
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf( 100 );
+
+    private final BookRepository bookRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher events;
+    private final CacheManager cacheManager;
+    private final CatalogVersion catalogVersion;
+
+    public BookBulkService( BookRepository bookRepository, PlatformTransactionManager transactionManager,
+                            ApplicationEventPublisher events, CacheManager cacheManager, CatalogVersion catalogVersion )
+    {
+        this.bookRepository = bookRepository;
+        this.transactionTemplate = new TransactionTemplate( transactionManager );
+        this.events = events;
+        this.cacheManager = cacheManager;
+        this.catalogVersion = catalogVersion;
+    }
+
+    public BookBulkResult deleteAll( Collection<Long> ids )
+    {
+        long start = System.nanoTime();
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        long deleted = 0;
+        int statements = 0;
+        for ( int from = 0; from < distinctIds.size(); from += DELETE_CHUNK_SIZE )
+        {
+            List<Long> chunk = distinctIds.subList( from, Math.min( from + DELETE_CHUNK_SIZE, distinctIds.size() ) );
+            Integer rows = transactionTemplate.execute( status -> {
+                int count = bookRepository.deleteByIds( chunk );
+                if ( count > 0 ) catalogVersion.bump();
+                // Applied after commit (title suggestions); unknown ids are simply ignored
+                chunk.forEach( id -> events.publishEvent( BookChangedEvent.deleted( id ) ) );
+                return count;
+            } );
+            deleted += rows == null ? 0 : rows;
+            statements++;
+        }
+        evictCaches();
+        return new BookBulkResult( deleted, statements, Duration.ofNanos( System.nanoTime() - start ) );
+    }
+
+    /*
+     * Changes by "percent" (e.g. 10 = +10%, -25 = -25%) the price of every book priced within [minPrice, maxPrice],
+     * rounded to cents. Books whose new price would reach Book.MAX_PRICE (or drop to zero) are not changed.
+     */
+    public BookBulkResult adjustPrices( BigDecimal percent, BigDecimal minPrice, BigDecimal maxPrice )
+    {
+        if ( percent.compareTo( MIN_PERCENT ) < 0 || percent.compareTo( MAX_PERCENT ) > 0 )
+        {
+            throw new IllegalArgumentException( "Percentage must be between " + MIN_PERCENT + " and " + MAX_PERCENT );
+        }
+        if ( minPrice.compareTo( maxPrice ) > 0 )
+        {
+            throw new IllegalArgumentException( "Minimum price must not be greater than maximum price" );
+        }
+
+        long start = System.nanoTime();
+        BigDecimal factor = BigDecimal.ONE.add( percent.divide( HUNDRED, MathContext.DECIMAL64 ) );
+        BigDecimal priceLimit = BigDecimal.valueOf( Book.MAX_PRICE );
+        Long maxId = bookRepository.findMaxId(); // books added after this point are not repriced
+        long updated = 0;
+        int statements = 0;
+        long fromId = 0;
+        while ( maxId != null && fromId <= maxId )
+        {
+            // Chunks hold UPDATE_CHUNK_SIZE books whatever the gaps between ids
+            long from = fromId;
+            long to = Math.min( bookRepository.findIdAtOffset( from, UPDATE_CHUNK_SIZE - 1 ).orElse( maxId ), maxId );
+            Integer rows = transactionTemplate.execute( status -> {
+                int count = bookRepository.adjustPrices( from, to, minPrice, maxPrice, factor, priceLimit );
+                if ( count > 0 ) catalogVersion.bump(); // no BookChangedEvent for price-only changes
+                return count;
+            } );
+            updated += rows == null ? 0 : rows;
+            statements++;
+            fromId = to + 1;
+        }
+        evictCaches();
+        return new BookBulkResult( updated, statements, Duration.ofNanos( System.nanoTime() - start ) );
+    }
+
+    // Same caches BookService clears on single writes (their keys hold the catalog version, see CacheConfig)
+    private void evictCaches()
+    {
+        for ( String name : List.of( BOOK_CACHE, BOOK_PAGES_CACHE ) )
+        {
+            Cache cache = cacheManager.getCache( name );
+            if ( cache != null ) cache.clear();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.books.service;
+
+import com.example.books.model.Book;
+
+/*
+ * Published by BookService whenever a book is created, edited or deleted.
+ * Listeners that keep in-memory copies of book data (e.g. TitleSuggestionService) react after the commit,
+ * so a rolled-back change never reaches them.
+ */
+public record BookChangedEvent( Long id, String title ) {
+
+    public static BookChangedEvent saved( Book book ) {return new BookChangedEvent( book.getId(), book.getTitle() );}
+
+    public static BookChangedEvent deleted( Long id ) {return new BookChangedEvent( id, null );}
+
+    public boolean isDeleted() {return title == null;}
+}
@@ -0,0 +1,81 @@
+package com.example.books.service;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.math.BigDecimal;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/*
+ * Opaque cursor used by the keyset (seek) pagination of /books.
+ *
+ * A cursor is the keyset of the first or last row of a page (e.g. title=...&id=...),
+ * Base64URL-encoded so it can travel safely as a query parameter. Decoding restores
+ * the Java type of every key, because Spring Data binds the values as JPQL parameters
+ * in "WHERE (b.title, b.id) > (:title, :id)"-style predicates.
+ */
+final class BookCursor {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private BookCursor() {}
+
+    static String encode( ScrollPosition position )
+    {
+        if ( !( position instanceof KeysetScrollPosition keyset ) || keyset.isInitial() )
+        {
+            return null;
+        }
+        StringBuilder raw = new StringBuilder();
+        keyset.getKeys().forEach( ( key, value ) -> {
+            if ( !raw.isEmpty() ) raw.append( '&' );
+            raw.append( key ).append( '=' )
+               .append( URLEncoder.encode( String.valueOf( value ), StandardCharsets.UTF_8 ) );
+        } );
+        return ENCODER.encodeToString( raw.toString().getBytes( StandardCharsets.UTF_8 ) );
+    }
+
+    /* Returns empty for tampered/garbled tokens or tokens issued for another sort order */
+    static Optional<Map<String, Object>> decode( String token, BookSort sort )
+    {
+        if ( token == null || token.isBlank() ) return Optional.empty();
+        try
+        {
+            String raw = new String( DECODER.decode( token ), StandardCharsets.UTF_8 );
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for ( String pair : raw.split( "&" ) )
+            {
+                int separator = pair.indexOf( '=' );
+                if ( separator < 0 ) return Optional.empty();
+                String key = pair.substring( 0, separator );
+                String value = URLDecoder.decode( pair.substring( separator + 1 ), StandardCharsets.UTF_8 );
+                keys.put( key, typed( key, value ) );
+            }
+            boolean matchesSort = sort.toSort().stream()
+                                      .allMatch( order -> keys.containsKey( order.getProperty() ) )
+                                  && keys.size() == sort.toSort().toList().size();
+            return matchesSort ? Optional.of( keys ) : Optional.empty();
+        } catch ( IllegalArgumentException e ) // bad Base64, bad number or unknown key
+        {
+            return Optional.empty();
+        }
+    }
+
+    private static Object typed( String key, String value )
+    {
+        return switch ( key )
+        {
+            case "id" -> Long.valueOf( value );
+            case "title" -> value;
+            case "price" -> new BigDecimal( value );
+            default -> throw new IllegalArgumentException( "Unknown cursor key: " + key );
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.books.service;
+
+/* Formats of the /books/export download */
+public enum BookExportFormat {
+    CSV( "text/csv;charset=UTF-8", "csv" ),
+    NDJSON( "application/x-ndjson", "ndjson" ); // one JSON object per line
+
+    private final String contentType;
+    private final String fileExtension;
+
+    BookExportFormat( String contentType, String fileExtension )
+    {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String contentType() {return contentType;}
+
+    public String fileExtension() {return fileExtension;}
+
+    // Unknown or missing values fall back to CSV, like BookSort falls back to the id order
+    public static BookExportFormat from( String value )
+    {
+        if ( value == null ) return CSV;
+        for ( BookExportFormat candidate : values() )
+        {
+            if ( candidate.name().equalsIgnoreCase( value.trim() ) ) return candidate;
+        }
+        return CSV;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.books.service;
+
+import com.example.books.dto.BookSummary;
+import com.example.books.model.Book;
+import com.example.books.repository.BookRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+/*
+ * Full catalog export with constant memory, whatever the number of rows:
+ * - rows are streamed from MySQL (BookRepository.streamAllBy) instead of being loaded by findAll()
+ * - every book is detached once written, so the persistence context never holds more than one book
+ * - output goes straight to the given stream (the HTTP response) through a small buffer
+ */
+@Service
+public class BookExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String FORMULA_START = "=+-@\t\r"; // first characters that make a spreadsheet cell a formula
+
+    private final BookRepository bookRepository;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public BookExportService( BookRepository bookRepository, ObjectMapper objectMapper )
+    {
+        this.bookRepository = bookRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /* Returns the number of exported books. The caller owns (and closes) the output stream. */
+    @Transactional( readOnly = true )
+    public long export( BookExportFormat format, OutputStream output ) throws IOException
+    {
+        Writer writer = new BufferedWriter( new OutputStreamWriter( output, StandardCharsets.UTF_8 ), BUFFER_SIZE );
+        if ( format == BookExportFormat.CSV ) writer.write( "id,title,price\n" );
+
+        long count = 0;
+        try ( Stream<Book> books = bookRepository.streamAllBy() ) // closing the Stream closes the JDBC ResultSet
+        {
+            for ( Book book : (Iterable<Book>) books::iterator )
+            {
+                writer.write( format == BookExportFormat.CSV ? csvLine( book ) : jsonLine( book ) );
+                entityManager.detach( book );
+                count++;
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static String csvLine( Book book )
+    {
+        return book.getId() + "," + csvField( book.getTitle() ) + "," + book.getPrice().toPlainString() + "\n";
+    }
+
+    /*
+     * RFC 4180: quote fields containing a separator, a quote or a line break; double the quotes inside.
+     * Formula injection: spreadsheets run a cell starting with = + - @ (or a tab or CR before one) as a formula,
+     * so such a title is prefixed with ' and exported as text.
+     */
+    static String csvField( String value )
+    {
+        if ( !value.isEmpty() && FORMULA_START.indexOf( value.charAt( 0 ) ) >= 0 ) value = "'" + value;
+        if ( value.contains( "," ) || value.contains( "\"" ) || value.contains( "\n" ) || value.contains( "\r" ) )
+        {
+            return "\"" + value.replace( "\"", "\"\"" ) + "\"";
+        }
+        return value;
+    }
+
+    private String jsonLine( Book book )
+    {
+        try
+        {
+            return objectMapper.writeValueAsString( new BookSummary( book.getId(), book.getTitle(), book.getPrice() ) ) + "\n";
+        } catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+}
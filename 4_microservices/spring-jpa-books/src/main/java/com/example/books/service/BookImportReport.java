@@ -0,0 +1,24 @@
+package com.example.books.service;
+
+import java.time.Duration;
+import java.util.List;
+
+/*
+ * Outcome of one CSV import: counters for the whole file, but only the first
+ * BookImportService.MAX_REPORTED_REJECTIONS rejected rows in detail (a bad file may reject them all).
+ */
+public record BookImportReport(
+    long rowsRead,
+    long imported,
+    long rejected,
+    List<RejectedRow> rejections,
+    Duration elapsed
+) {
+    public record RejectedRow( long line, String reason ) {}
+
+    public long rowsPerSecond()
+    {
+        long millis = Math.max( elapsed.toMillis(), 1 );
+        return rowsRead * 1000 / millis;
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.books.service;
+
+import com.example.books.model.Book;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.SessionFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.example.books.config.CacheConfig.BOOK_PAGES_CACHE;
+import static com.example.books.repository.BookRepository.LISTING_QUERY_REGION;
+
+/*
+ * Bulk import of "title,price" CSV files (e.g. a publisher's catalog).
+ *
+ * - Streaming: the file is read line by line; only one chunk of valid books is held in memory.
+ * - Validation: every row is checked with the Book bean constraints (@NotBlank, @Size, @Positive, @PriceLimit),
+ *   exactly like the /books/add form; invalid rows are reported and skipped, the rest of the file is imported.
+ * - Writes: one transaction and one batch insert per chunk, through the BookBatchWriter matching the id strategy
+ *   of tbl_book (JDBC batch with AUTO_INCREMENT ids by default, Hibernate batching with the "pooled-ids" profile).
+ * - Caches: cleared when the import ends, even after a failure (earlier chunks are committed). Hibernate does not
+ *   see the JDBC batch inserts, so the listing query cache region ("l2cache" profile) is evicted explicitly.
+ */
+@Service
+public class BookImportService {
+
+    public static final int CHUNK_SIZE = 500;
+    public static final int MAX_REPORTED_REJECTIONS = 100;
+
+    private final BookBatchWriter bookBatchWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ApplicationEventPublisher events;
+    private final CacheManager cacheManager;
+    private final CatalogVersion catalogVersion;
+    private final SessionFactory sessionFactory;
+
+    public BookImportService( BookBatchWriter bookBatchWriter, PlatformTransactionManager transactionManager,
+                              Validator validator, ApplicationEventPublisher events, CacheManager cacheManager,
+                              CatalogVersion catalogVersion, EntityManagerFactory entityManagerFactory )
+    {
+        this.bookBatchWriter = bookBatchWriter;
+        this.transactionTemplate = new TransactionTemplate( transactionManager );
+        this.validator = validator;
+        this.events = events;
+        this.cacheManager = cacheManager;
+        this.catalogVersion = catalogVersion;
+        this.sessionFactory = entityManagerFactory.unwrap( SessionFactory.class );
+    }
+
+    public BookImportReport importCsv( InputStream csv ) throws IOException
+    {
+        long start = System.nanoTime();
+        long rowsRead = 0, imported = 0, rejected = 0;
+        List<BookImportReport.RejectedRow> rejections = new ArrayList<>();
+        List<Book> chunk = new ArrayList<>( CHUNK_SIZE );
+
+        try ( BufferedReader reader = new BufferedReader( new InputStreamReader( csv, StandardCharsets.UTF_8 ) ) )
+        {
+            long lineNumber = 0;
+            String line;
+            while ( ( line = reader.readLine() ) != null )
+            {
+                lineNumber++;
+                if ( line.isBlank() || ( lineNumber == 1 && isHeader( line ) ) ) continue;
+                rowsRead++;
+
+                String problem;
+                try
+                {
+                    Book book = parse( line );
+                    problem = validate( book );
+                    if ( problem == null ) chunk.add( book );
+                } catch ( IllegalArgumentException e ) // wrong number of columns or price that is not a number
+                {
+                    problem = e.getMessage();
+                }
+                if ( problem != null )
+                {
+                    rejected++;
+                    if ( rejections.size() < MAX_REPORTED_REJECTIONS )
+                    {
+                        rejections.add( new BookImportReport.RejectedRow( lineNumber, problem ) );
+                    }
+                }
+
+                if ( chunk.size() == CHUNK_SIZE )
+                {
+                    imported += insertChunk( chunk );
+                    chunk.clear();
+                }
+            }
+            imported += insertChunk( chunk );
+        } finally
+        {
+            evictListingCaches(); // a failure mid-file still leaves the chunks committed before it
+        }
+        return new BookImportReport( rowsRead, imported, rejected, rejections, Duration.ofNanos( System.nanoTime() - start ) );
+    }
+
+    // One transaction and one batch per chunk: a failure only rolls back the current chunk
+    private int insertChunk( List<Book> chunk )
+    {
+        if ( chunk.isEmpty() ) return 0;
+        transactionTemplate.executeWithoutResult( status -> {
+            bookBatchWriter.insert( chunk );
+            catalogVersion.bump();
+            // The events update the title suggestions after commit
+            chunk.forEach( book -> events.publishEvent( BookChangedEvent.saved( book ) ) );
+        } );
+        return chunk.size();
+    }
+
+    private void evictListingCaches()
+    {
+        Cache pages = cacheManager.getCache( BOOK_PAGES_CACHE );
+        if ( pages != null ) pages.clear(); // pages of older catalog versions are never hit again: free them now
+        sessionFactory.getCache().evictQueryRegion( LISTING_QUERY_REGION ); // no-op without the query cache
+    }
+
+    private String validate( Book book )
+    {
+        var violations = validator.validate( book );
+        if ( violations.isEmpty() ) return null;
+        return violations.stream()
+                         .map( ConstraintViolation::getMessage )
+                         .sorted()
+                         .collect( Collectors.joining( "; " ) );
+    }
+
+    private static boolean isHeader( String line )
+    {
+        return line.replace( "\"", "" ).replace( " ", "" ).equalsIgnoreCase( "title,price" );
+    }
+
+    /*
+     * "title,price": the price is after the LAST comma, so titles may contain commas.
+     * A quoted title ("Guns, Germs, and Steel") is unquoted, with "" standing for one quote.
+     */
+    static Book parse( String line )
+    {
+        int separator = line.lastIndexOf( ',' );
+        if ( separator < 0 ) throw new IllegalArgumentException( "Expected 2 columns: title,price" );
+
+        String title = line.substring( 0, separator ).strip();
+        if ( title.length() >= 2 && title.startsWith( "\"" ) && title.endsWith( "\"" ) )
+        {
+            title = title.substring( 1, title.length() - 1 ).replace( "\"\"", "\"" );
+        }
+        String priceText = line.substring( separator + 1 ).strip();
+        BigDecimal price;
+        try
+        {
+            price = new BigDecimal( priceText );
+        } catch ( NumberFormatException e )
+        {
+            throw new IllegalArgumentException( "Price is not a number: " + priceText );
+        }
+        if ( price.scale() > 2 ) throw new IllegalArgumentException( "Price has more than 2 decimals: " + priceText );
+
+        Book book = new Book();
+        book.setTitle( title );
+        book.setPrice( price );
+        return book;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.books.service;
+
+import com.example.books.dto.BookSummary;
+
+import java.util.List;
+
+/*
+ * One page of the keyset-paginated /books listing.
+ * previousCursor/nextCursor are opaque tokens (see BookCursor); null means there is no page in that direction.
+ */
+public record BookPage(
+    List<BookSummary> books,
+    BookSort sort,
+    int size,
+    String previousCursor,
+    String nextCursor
+) {
+    public boolean hasPrevious() {return previousCursor != null;}
+    public boolean hasNext() {return nextCursor != null;}
+}
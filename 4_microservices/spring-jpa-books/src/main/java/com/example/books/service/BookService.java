@@ -1,21 +1,49 @@
 package com.example.books.service;
 
+import com.example.books.dto.BookSummary;
 import com.example.books.model.Book;
 import com.example.books.repository.BookRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static com.example.books.config.CacheConfig.BOOK_CACHE;
+import static com.example.books.config.CacheConfig.BOOK_PAGES_CACHE;
+
+// books.service{class,method,exception}: every public method timed by Micrometer's TimedAspect (cache hits included),
+// with percentile histograms (management.metrics.distribution.percentiles-histogram.books.service)
 @Service
+@Timed( "books.service" )
 public class BookService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final BookRepository bookRepository;
+    private final ApplicationEventPublisher events;
+    private final CatalogVersion catalogVersion;
 
-    public BookService( BookRepository bookRepository )
+    public BookService( BookRepository bookRepository, ApplicationEventPublisher events, CatalogVersion catalogVersion )
     {
         this.bookRepository = bookRepository;
+        this.events = events;
+        this.catalogVersion = catalogVersion;
     }
 
     @Transactional( readOnly = true )
@@ -24,35 +52,148 @@ public class BookService {
         return bookRepository.findAll();
     }
 
+    /*
+     * Keyset-paginated listing: only one page of rows is read from tbl_book per request.
+     * "after" continues forward from a page's last row, "before" goes back from a page's first row;
+     * an absent or invalid cursor starts from the first page.
+     * Cached under the current CatalogVersion: after any book write the old pages are no longer hit (immediately for
+     * writes of this replica, within books.catalog.version-max-age for others), whatever the order of the commit,
+     * the eviction and a concurrent cache put. A hit does not touch MySQL while the version is memoized.
+     */
+    @Cacheable( cacheNames = BOOK_PAGES_CACHE, key = "{@catalogVersion.current(), #sortKey, #after, #before, #size}" )
+    @Transactional( readOnly = true )
+    public BookPage findPage( String sortKey, String after, String before, int size )
+    {
+        BookSort sort = BookSort.from( sortKey );
+        int pageSize = Math.clamp( size, 1, MAX_PAGE_SIZE );
+
+        Optional<Map<String, Object>> backwardKeys = BookCursor.decode( before, sort );
+        Optional<Map<String, Object>> forwardKeys = backwardKeys.isPresent()
+                                                    ? Optional.empty()
+                                                    : BookCursor.decode( after, sort );
+
+        KeysetScrollPosition position = backwardKeys.map( ScrollPosition::backward )
+                                                    .or( () -> forwardKeys.map( ScrollPosition::forward ) )
+                                                    .orElseGet( ScrollPosition::keyset );
+
+        // Projection: the listing only needs id, title and price, so no managed entities are created
+        Window<BookSummary> window = bookRepository.findSummariesBy( position, sort.toSort(), Limit.of( pageSize ) );
+        List<BookSummary> books = window.getContent();
+        if ( books.isEmpty() )
+        {
+            return new BookPage( books, sort, pageSize, null, null );
+        }
+
+        String firstCursor = BookCursor.encode( window.positionAt( 0 ) );
+        String lastCursor = BookCursor.encode( window.positionAt( books.size() - 1 ) );
+        if ( position.scrollsBackward() )
+        {
+            // Backward windows are returned in display order; hasNext() means "more rows further back"
+            return new BookPage( books, sort, pageSize, window.hasNext() ? firstCursor : null, lastCursor );
+        }
+        return new BookPage( books, sort, pageSize, position.isInitial() ? null : firstCursor,
+                             window.hasNext() ? lastCursor : null );
+    }
+
+    /*
+     * Full-text title search backed by the FULLTEXT index on book_title, best matches first.
+     * Not cached: free-text queries rarely repeat and would only push listing pages out of the cache.
+     */
+    @Transactional( readOnly = true )
+    public Page<BookSummary> searchByTitle( String query, int page, int size )
+    {
+        Pageable pageable = PageRequest.of( Math.max( page, 0 ), Math.clamp( size, 1, MAX_PAGE_SIZE ) );
+        return TitleSearchTerms.booleanMode( query )
+                               .map( terms -> bookRepository.searchByTitle( terms, pageable ) )
+                               .orElseGet( () -> Page.empty( pageable ) );
+    }
+
+    @CacheEvict( cacheNames = { BOOK_CACHE, BOOK_PAGES_CACHE }, allEntries = true )
     @Transactional
     public Book save( Book entity )
     {
-        return bookRepository.save( entity );
+        Book saved = bookRepository.save( entity );
+        catalogVersion.bump();
+        events.publishEvent( BookChangedEvent.saved( saved ) ); // keeps the title suggestions in sync
+        return saved;
     }
 
+    /* One DELETE statement (the inherited deleteById loads the entity first). False when there was no such book. */
+    @CacheEvict( cacheNames = { BOOK_CACHE, BOOK_PAGES_CACHE }, allEntries = true )
     @Transactional
-    public void deleteById( Long aLong )
+    public boolean deleteById( Long aLong )
     {
-        bookRepository.deleteById( aLong );
+        if ( bookRepository.deleteBookById( aLong ) == 0 ) return false;
+        catalogVersion.bump();
+        events.publishEvent( BookChangedEvent.deleted( aLong ) );
+        return true;
     }
 
+    /*
+     * Cached under the current CatalogVersion, like findPage: a reader that missed before a write committed may put
+     * the old row back after the eviction, but under the previous version, which is no longer hit once the write is
+     * seen (immediately on this replica, within books.catalog.version-max-age on the others). So the book, and the
+     * ETag of /api/books/{id}, is never served stale for longer than that, whichever replica wrote it.
+     * The version covers the whole catalog: any book write makes every "book" entry a miss.
+     * Misses (unknown ids) are not cached, so a book created later is never hidden by a stale "absent" entry.
+     */
+    @Cacheable( cacheNames = BOOK_CACHE, key = "{@catalogVersion.current(), #aLong}", unless = "#result == null" )
     @Transactional( readOnly = true )
     public Optional<Book> findById( Long aLong )
     {
         return bookRepository.findById( aLong );
     }
 
+    /*
+     * Updates title and price if newData.version is still the book's current version, in ONE statement:
+     * "UPDATE ... SET version = version + 1 WHERE id = ? AND version = ?" (no SELECT, no dirty-checking snapshot).
+     * Returns newData with its id and new version; empty when the book no longer exists.
+     * Throws ObjectOptimisticLockingFailureException when the book was changed since it was read (stale form or If-Match).
+     * Bean validation does not run on query updates: callers pass validated data (@Valid form or request body).
+     * With the "l2cache" profile, Hibernate evicts the book entity region after a query update.
+     * The "book" cache is also cleared BEFORE the call: after-invocation evictions are skipped when the method throws,
+     * and the conflict paths re-read the book through findById (the entry of the memoized version may be stale when
+     * the conflicting write came from another replica).
+     * Concurrency: no lock is held while a user edits, and editors of different books never wait on each other's rows.
+     * Their COMMITS do queue, though: the CatalogVersion increment locks one shared row until commit, so book writes
+     * commit one at a time across all replicas (see CatalogVersion for that cost).
+     */
+    @Caching( evict = {
+        @CacheEvict( cacheNames = BOOK_CACHE, allEntries = true, beforeInvocation = true ), // conflict: no stale re-read
+        @CacheEvict( cacheNames = { BOOK_CACHE, BOOK_PAGES_CACHE }, allEntries = true )
+    } )
     @Transactional
-    public void updateBook(Long id, Book newData)
-    {
-        // Load managed entity from database
-        Optional<Book> existingBook = bookRepository.findById(id);
-        existingBook.ifPresent( fetchedBook -> {
-            // Ensure we only update title and price, not the book.ID
-            fetchedBook.setTitle( newData.getTitle() );
-            fetchedBook.setPrice( newData.getPrice() );
-            // bookRepository.save( book ); // can be omitted if @Transactional is present
-            // No call to save — Hibernate "Dirty Checking" will detect changes and persist on transaction commit
-        });
+    public Optional<Book> updateBook(Long id, Book newData)
+    {
+        int updated = bookRepository.updateIfVersion( id, newData.getVersion(), newData.getTitle(), newData.getPrice() );
+        if ( updated == 0 )
+        {
+            // Failure path only: a second query tells "deleted" from "changed by someone else"
+            if ( !bookRepository.existsById( id ) ) return Optional.empty();
+            throw new ObjectOptimisticLockingFailureException( Book.class, id );
+        }
+        newData.setId( id );
+        newData.setVersion( newData.getVersion() + 1 ); // the statement matched exactly this version
+        catalogVersion.bump();
+        events.publishEvent( BookChangedEvent.saved( newData ) );
+        return Optional.of( newData );
+    }
+
+    /*
+     * Updates title and price whatever the book's current version ("If-Match: *"): one unconditional
+     * "UPDATE ... SET version = version + 1 WHERE id = ?", so a concurrent write can never make it fail.
+     * The new version is read back in the same transaction, while the UPDATE still holds the row lock.
+     * Returns newData with its id and new version; empty when there is no such book.
+     */
+    @CacheEvict( cacheNames = { BOOK_CACHE, BOOK_PAGES_CACHE }, allEntries = true )
+    @Transactional
+    public Optional<Book> overwriteBook( Long id, Book newData )
+    {
+        if ( bookRepository.updateUnconditionally( id, newData.getTitle(), newData.getPrice() ) == 0 ) return Optional.empty();
+        newData.setId( id );
+        newData.setVersion( bookRepository.findVersionById( id ).orElseThrow() );
+        catalogVersion.bump();
+        events.publishEvent( BookChangedEvent.saved( newData ) );
+        return Optional.of( newData );
     }
 }
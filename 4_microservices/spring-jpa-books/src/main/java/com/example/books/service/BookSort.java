@@ -0,0 +1,38 @@
+package com.example.books.service;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Locale;
+
+/*
+ * Sort keys accepted by the paginated /books listing.
+ * Every sort ends with the primary key (book_id) as a tiebreaker, so the keyset
+ * (sort value + id) identifies exactly one row and seeking never skips or repeats books.
+ */
+public enum BookSort {
+    ID( Sort.by( "id" ) ),
+    TITLE( Sort.by( "title", "id" ) ),
+    PRICE( Sort.by( "price", "id" ) );
+
+    private final Sort sort;
+
+    BookSort( Sort sort )
+    {
+        this.sort = sort;
+    }
+
+    public Sort toSort() {return sort;}
+
+    public String key() {return name().toLowerCase( Locale.ROOT );}
+
+    // Unknown or missing values fall back to the natural (id) order instead of failing the page
+    public static BookSort from( String value )
+    {
+        if ( value == null ) return ID;
+        for ( BookSort candidate : values() )
+        {
+            if ( candidate.key().equalsIgnoreCase( value.trim() ) ) return candidate;
+        }
+        return ID;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.books.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * Version of the whole book catalog, used as the ETag of the /api/books responses and as part of the
+ * "book" and "bookPages" cache keys, and checked by TitleSuggestionService to pick up other replicas' writes.
+ *
+ * Stored in the single row of tbl_catalog_version (V11 migration) and incremented by every book write inside
+ * the write's own transaction (BookService, BookBulkService, BookImportService): the new version commits with
+ * the new data, on every replica, and a rolled-back write changes nothing.
+ *
+ * Reads are memoized per replica for books.catalog.version-max-age (default 1s): a cache hit does not touch
+ * MySQL, and the row is read at most about once per max-age, by one thread (the others keep the previous value
+ * meanwhile). The price is bounded staleness: a write committed on ANOTHER replica is seen here at most max-age
+ * later (a polling client may get a 304, or a cached page, up to that long). Writes of this replica drop the
+ * memoized value after commit, so they are seen immediately. 0 reads the row every time.
+ *
+ * Cost of the shared row: every book write locks it from its increment (the last statement of the write) until
+ * its commit, so book writes commit one at a time, cluster-wide, even for different books. Editors still never
+ * wait on each other's book rows and never hold locks while editing (user-facing optimistic locking is unchanged),
+ * but the catalog's write throughput is bounded by one commit (one redo log flush) at a time. That suits an
+ * admin-edited catalog; a catalog written by many concurrent editors would need a sharded counter instead.
+ */
+@Component
+public class CatalogVersion {
+
+    private static final String SELECT_VERSION = "SELECT catalog_version FROM tbl_catalog_version WHERE catalog_id = 1";
+    private static final String INCREMENT_VERSION = "UPDATE tbl_catalog_version SET catalog_version = catalog_version + 1 WHERE catalog_id = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long maxAgeNanos;
+    private final ReentrantLock refreshing = new ReentrantLock();
+    private final AtomicLong localWrites = new AtomicLong(); // committed writes of this replica
+    private volatile Snapshot snapshot; // null = must be read
+
+    public CatalogVersion( JdbcTemplate jdbcTemplate,
+                           @Value( "${books.catalog.version-max-age:1s}" ) Duration maxAge )
+    {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxAgeNanos = maxAge.toNanos();
+    }
+
+    public long current()
+    {
+        Snapshot known = snapshot;
+        if ( known != null && known.isFresh( maxAgeNanos ) ) return known.version();
+        if ( known != null && !refreshing.tryLock() ) return known.version(); // another thread is re-reading it
+        if ( known == null ) refreshing.lock();
+        try
+        {
+            Snapshot latest = snapshot;
+            if ( latest != null && latest != known && latest.isFresh( maxAgeNanos ) ) return latest.version();
+            long readAt = System.nanoTime(); // before the query: the value is at least this old
+            long writesBefore = localWrites.get();
+            Long version = jdbcTemplate.queryForObject( SELECT_VERSION, Long.class );
+            latest = new Snapshot( version == null ? 0 : version, readAt );
+            // A local write committed during the query may be missing from this value: use it once, don't keep it
+            if ( localWrites.get() == writesBefore ) snapshot = latest;
+            return latest.version();
+        } finally
+        {
+            refreshing.unlock();
+        }
+    }
+
+    /* Strong ETag value (quoted) for HTTP responses */
+    public String etag()
+    {
+        return "\"" + current() + "\"";
+    }
+
+    /* Called by book writes: joins their transaction (MANDATORY), so the version commits or rolls back with them */
+    @Transactional( propagation = Propagation.MANDATORY )
+    public void bump()
+    {
+        jdbcTemplate.update( INCREMENT_VERSION );
+        TransactionSynchronizationManager.registerSynchronization( new TransactionSynchronization() {
+            @Override
+            public void afterCommit()
+            {
+                localWrites.incrementAndGet();
+                snapshot = null; // this replica reads its own writes at once
+            }
+        } );
+    }
+
+    private record Snapshot( long version, long readAtNanos ) {
+
+        boolean isFresh( long maxAgeNanos )
+        {
+            return System.nanoTime() - readAtNanos < maxAgeNanos;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.books.service;
+
+import com.example.books.model.Book;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Book.id uses IDENTITY, which makes Hibernate execute inserts one by one (it needs each generated id).
+ * JdbcTemplate sends the chunk as one JDBC batch instead; with the MySQL driver's rewriteBatchedStatements
+ * (see application.properties) the batch becomes a single multi-row INSERT.
+ */
+@Component
+@Profile( "!pooled-ids" )
+class JdbcBookBatchWriter implements BookBatchWriter {
+
+    private static final String INSERT_BOOK = "INSERT INTO tbl_book (book_title, book_price, book_version) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    JdbcBookBatchWriter( JdbcTemplate jdbcTemplate )
+    {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insert( List<Book> books )
+    {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate( con -> con.prepareStatement( INSERT_BOOK, Statement.RETURN_GENERATED_KEYS ),
+                                  new BatchPreparedStatementSetter() {
+                                      @Override
+                                      public void setValues( PreparedStatement ps, int i ) throws SQLException
+                                      {
+                                          ps.setString( 1, books.get( i ).getTitle() );
+                                          ps.setBigDecimal( 2, books.get( i ).getPrice() );
+                                          ps.setLong( 3, books.get( i ).getVersion() ); // new books: 0, as Hibernate would
+                                      }
+
+                                      @Override
+                                      public int getBatchSize() {return books.size();}
+                                  },
+                                  keys );
+        // Generated ids come back in insert order
+        List<Map<String, Object>> generated = keys.getKeyList();
+        for ( int i = 0; i < generated.size() && i < books.size(); i++ )
+        {
+            books.get( i ).setId( ( (Number) generated.get( i ).values().iterator().next() ).longValue() );
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.books.service;
+
+import com.example.books.model.Book;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/*
+ * With pooled ids (see META-INF/orm-pooled-ids.xml) persist() only takes an id from the reserved block,
+ * and flush() sends the INSERTs in JDBC batches of hibernate.jdbc.batch_size.
+ * Inserting through JDBC here would let AUTO_INCREMENT hand out ids that belong to a reserved block.
+ */
+@Component
+@Profile( "pooled-ids" )
+class JpaBookBatchWriter implements BookBatchWriter {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void insert( List<Book> books )
+    {
+        books.forEach( entityManager::persist );
+        entityManager.flush();
+        entityManager.clear(); // the imported books are not read again: keep the persistence context small
+    }
+}
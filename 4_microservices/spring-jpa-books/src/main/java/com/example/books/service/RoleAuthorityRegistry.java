@@ -0,0 +1,115 @@
+package com.example.books.service;
+
+import com.example.books.model.Role;
+import com.example.books.repository.RoleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.access.hierarchicalroles.NullRoleHierarchy;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/*
+ * The authorities of every role of tbl_role (a handful of reference rows), built once at startup.
+ * Logins get the role of a user from here (no JOIN with tbl_role) as a shared, immutable list: no authority
+ * objects, upper-casing or hierarchy walk per login.
+ *
+ * - books.security.role-hierarchy (e.g. "ROLE_ADMIN > ROLE_USER") is expanded here, once: an ADMIN list also holds
+ *   ROLE_USER, so hasRole() checks (SecurityConfig, templates) need no RoleHierarchy bean at request time
+ * - one SimpleGrantedAuthority instance per name, shared by every list that contains it
+ * - roles are only ever inserted (Role is read-only): an unknown id (role inserted after startup) rebuilds the registry once
+ * - the role ids by name are kept too, for user provisioning (UserProvisioningService): no SELECT per CSV row
+ */
+@Component
+public class RoleAuthorityRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger( RoleAuthorityRegistry.class );
+
+    private final RoleRepository roleRepository;
+    private final RoleHierarchy roleHierarchy;
+    private volatile Map<Long, List<GrantedAuthority>> authoritiesByRoleId = Map.of();
+    private volatile Map<String, Long> roleIdsByName = Map.of();
+
+    public RoleAuthorityRegistry( RoleRepository roleRepository,
+                                  @Value( "${books.security.role-hierarchy:}" ) String roleHierarchy )
+    {
+        this.roleRepository = roleRepository;
+        this.roleHierarchy = parseHierarchy( roleHierarchy );
+    }
+
+    @EventListener( ApplicationReadyEvent.class )
+    public synchronized void reload()
+    {
+        Map<Long, String> roleNames = roleRepository.findAll().stream()
+                                                    .collect( Collectors.toMap( Role::getId, Role::getRole ) );
+        authoritiesByRoleId = authoritiesByRoleId( roleNames, roleHierarchy );
+        roleIdsByName = roleNames.entrySet().stream()
+                                 .collect( Collectors.toUnmodifiableMap( role -> role.getValue().toUpperCase( Locale.ROOT ),
+                                                                         Map.Entry::getKey ) );
+        log.info( "Role authorities loaded: {} roles", authoritiesByRoleId.size() );
+    }
+
+    /* The authorities of a user with this role, own role first; empty for an unknown role */
+    public Optional<List<GrantedAuthority>> authorities( Long roleId )
+    {
+        List<GrantedAuthority> authorities = authoritiesByRoleId.get( roleId );
+        if ( authorities == null )
+        {
+            reload();
+            authorities = authoritiesByRoleId.get( roleId );
+        }
+        return Optional.ofNullable( authorities );
+    }
+
+    /*
+     * The id of a role by name, case-insensitive, with or without the "ROLE_" prefix ("admin" finds ROLE_ADMIN).
+     * Unlike authorities(), a miss does not reload: names come from user input, so the caller decides
+     * (UserProvisioningService reloads once per unknown name and file, not once per row with a typo).
+     */
+    public Optional<Long> roleId( String roleName )
+    {
+        String name = roleName.strip().toUpperCase( Locale.ROOT );
+        Map<String, Long> ids = roleIdsByName;
+        return Optional.ofNullable( ids.get( name ) ).or( () -> Optional.ofNullable( ids.get( "ROLE_" + name ) ) );
+    }
+
+    static Map<Long, List<GrantedAuthority>> authoritiesByRoleId( Map<Long, String> roleNames, RoleHierarchy hierarchy )
+    {
+        Map<String, GrantedAuthority> shared = new HashMap<>();
+        Map<Long, List<GrantedAuthority>> result = new HashMap<>();
+        roleNames.forEach( ( id, name ) -> {
+            GrantedAuthority own = shared.computeIfAbsent( name.toUpperCase( Locale.ROOT ), SimpleGrantedAuthority::new );
+            Set<GrantedAuthority> authorities = new LinkedHashSet<>();
+            authorities.add( own );
+            hierarchy.getReachableGrantedAuthorities( List.of( own ) ).stream()
+                     .map( GrantedAuthority::getAuthority )
+                     .sorted( Comparator.naturalOrder() )
+                     .forEach( implied -> authorities.add( shared.computeIfAbsent( implied, SimpleGrantedAuthority::new ) ) );
+            result.put( id, List.copyOf( authorities ) );
+        } );
+        return Map.copyOf( result );
+    }
+
+    // "ROLE_ADMIN > ROLE_USER; ROLE_USER > ROLE_GUEST": one relation per ";" (or line)
+    static RoleHierarchy parseHierarchy( String hierarchy )
+    {
+        if ( !StringUtils.hasText( hierarchy ) ) return new NullRoleHierarchy();
+        return RoleHierarchyImpl.fromHierarchy( hierarchy.replace( ';', '\n' ) );
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.books.service;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/*
+ * Builds the MySQL boolean-mode search string used by BookRepository.searchByTitle.
+ *
+ * Every word typed by the user becomes a required prefix term, e.g. "Lord of the Rings" -> "+lord* +rings*".
+ * Boolean-mode operators typed by the user (+ - < > ( ) ~ * " @) are treated as separators, so user input
+ * can never change the meaning of the query. Words the FULLTEXT index does not contain are dropped:
+ * words shorter than innodb_ft_min_token_size (default 3) and InnoDB's default stopwords.
+ * A required term that is not in the index would make the whole search return nothing.
+ */
+final class TitleSearchTerms {
+
+    static final int MIN_TOKEN_SIZE = 3;
+
+    // INFORMATION_SCHEMA.INNODB_FT_DEFAULT_STOPWORD
+    private static final Set<String> STOPWORDS = Set.of(
+        "a", "about", "an", "are", "as", "at", "be", "by", "com", "de", "en", "for", "from", "how", "i", "in",
+        "is", "it", "la", "of", "on", "or", "that", "the", "this", "to", "was", "what", "when", "where", "who",
+        "will", "with", "und", "www" );
+
+    private TitleSearchTerms() {}
+
+    /* Returns empty when nothing searchable is left (blank input, only short words or stopwords) */
+    static Optional<String> booleanMode( String query )
+    {
+        if ( query == null ) return Optional.empty();
+        String terms = Arrays.stream( query.toLowerCase( Locale.ROOT ).split( "[^\\p{L}\\p{N}]+" ) )
+                             .filter( word -> word.length() >= MIN_TOKEN_SIZE && !STOPWORDS.contains( word ) )
+                             .distinct()
+                             .map( word -> "+" + word + "*" )
+                             .collect( Collectors.joining( " " ) );
+        return terms.isEmpty() ? Optional.empty() : Optional.of( terms );
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.books.service;
+
+import com.example.books.dto.TitleSuggestion;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/*
+ * In-memory prefix trie over the words of every book title, used for type-ahead suggestions.
+ *
+ * Words are accent-folded before they are indexed and before they are looked up
+ * ("Coração" and "coracao" are the same key), so users find Portuguese titles with or without accents.
+ * Every word of a title is indexed, so "aneis" suggests "O Senhor dos Anéis".
+ *
+ * A lookup walks down the trie once per typed character, then collects ids below that node
+ * until "limit" titles are found: the cost depends on the query and the limit, not on the catalog size.
+ * Reads share a read lock; add/remove (one book at a time) take the write lock.
+ */
+public final class TitleSuggestionIndex {
+
+    public static final int MAX_LIMIT = 20;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile( "\\p{M}+" );
+    private static final Pattern WORD_SEPARATORS = Pattern.compile( "[^\\p{L}\\p{N}]+" );
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node();
+    private final Map<Long, Entry> entries = new HashMap<>(); // id -> title + its folded words (needed to remove it)
+
+    private record Entry( String title, String[] words ) {}
+
+    private static final class Node {
+        final TreeMap<Character, Node> children = new TreeMap<>(); // sorted: suggestions come out in alphabetical order
+        final Set<Long> bookIds = new TreeSet<>(); // books having a word that ends at this node
+    }
+
+    /* Adds the book, or re-indexes it when it is already present (title changed) */
+    public void put( Long id, String title )
+    {
+        String[] words = words( title );
+        lock.writeLock().lock();
+        try
+        {
+            unindex( id );
+            entries.put( id, new Entry( title, words ) );
+            for ( String word : words )
+            {
+                Node node = root;
+                for ( int i = 0; i < word.length(); i++ )
+                {
+                    node = node.children.computeIfAbsent( word.charAt( i ), c -> new Node() );
+                }
+                node.bookIds.add( id );
+            }
+        } finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove( Long id )
+    {
+        lock.writeLock().lock();
+        try
+        {
+            unindex( id );
+        } finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear()
+    {
+        lock.writeLock().lock();
+        try
+        {
+            root.children.clear();
+            root.bookIds.clear();
+            entries.clear();
+        } finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size()
+    {
+        lock.readLock().lock();
+        try
+        {
+            return entries.size();
+        } finally
+        {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+     * Titles having a word that starts with every word of the query, e.g. "sen an" -> "O Senhor dos Anéis".
+     * The longest query word drives the trie walk (it has the fewest candidates); the other words are
+     * checked against the candidate's folded words.
+     */
+    public List<TitleSuggestion> suggest( String query, int limit )
+    {
+        String[] queryWords = words( query );
+        int max = Math.clamp( limit, 1, MAX_LIMIT );
+        if ( queryWords.length == 0 ) return List.of();
+        String driver = Arrays.stream( queryWords ).max( Comparator.comparingInt( String::length ) ).orElseThrow();
+
+        lock.readLock().lock();
+        try
+        {
+            Node start = find( driver );
+            if ( start == null ) return List.of();
+
+            Set<Long> found = new LinkedHashSet<>();
+            Deque<Node> pending = new ArrayDeque<>();
+            pending.push( start );
+            while ( !pending.isEmpty() && found.size() < max ) // depth-first, children in alphabetical order
+            {
+                Node node = pending.pop();
+                for ( Long id : node.bookIds )
+                {
+                    if ( found.size() == max ) break; // a common word may hold thousands of ids
+                    if ( matchesAll( entries.get( id ).words(), queryWords ) ) found.add( id );
+                }
+                node.children.descendingMap().values().forEach( pending::push );
+            }
+            return found.stream().map( id -> new TitleSuggestion( id, entries.get( id ).title() ) ).toList();
+        } finally
+        {
+            lock.readLock().unlock();
+        }
+    }
+
+    /* Lowercase, accents removed: "Ação" -> "acao", "Über" -> "uber" */
+    public static String fold( String text )
+    {
+        String decomposed = Normalizer.normalize( text, Normalizer.Form.NFD );
+        return COMBINING_MARKS.matcher( decomposed ).replaceAll( "" ).toLowerCase( Locale.ROOT );
+    }
+
+    static String[] words( String text )
+    {
+        if ( text == null || text.isBlank() ) return new String[0];
+        return Arrays.stream( WORD_SEPARATORS.split( fold( text ) ) )
+                     .filter( word -> !word.isEmpty() )
+                     .distinct()
+                     .toArray( String[]::new );
+    }
+
+    private Node find( String prefix )
+    {
+        Node node = root;
+        for ( int i = 0; i < prefix.length() && node != null; i++ )
+        {
+            node = node.children.get( prefix.charAt( i ) );
+        }
+        return node;
+    }
+
+    private static boolean matchesAll( String[] titleWords, String[] queryWords )
+    {
+        for ( String queryWord : queryWords )
+        {
+            boolean matched = false;
+            for ( String titleWord : titleWords )
+            {
+                if ( titleWord.startsWith( queryWord ) )
+                {
+                    matched = true;
+                    break;
+                }
+            }
+            if ( !matched ) return false;
+        }
+        return true;
+    }
+
+    // Caller holds the write lock. Emptied nodes are kept: they are reused when the word comes back.
+    private void unindex( Long id )
+    {
+        Entry previous = entries.remove( id );
+        if ( previous == null ) return;
+        for ( String word : previous.words() )
+        {
+            Node node = find( word );
+            if ( node != null ) node.bookIds.remove( id );
+        }
+    }
+}
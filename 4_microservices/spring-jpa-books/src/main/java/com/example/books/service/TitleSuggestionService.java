@@ -0,0 +1,138 @@
+package com.example.books.service;
+
+import com.example.books.dto.TitleSuggestion;
+import com.example.books.repository.BookRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * Keeps the TitleSuggestionIndex in sync with tbl_book: fully loaded at startup, then updated one book at a time
+ * from the BookChangedEvents published by BookService on this replica.
+ *
+ * Writes of OTHER replicas publish no event here, so every books.suggest.sync-interval the CatalogVersion is
+ * compared with the one the index was built from, and the index is rebuilt when it moved: titles added, renamed
+ * or deleted elsewhere show up here within that interval plus books.catalog.version-max-age. Any book write moves
+ * the version (local ones and price changes included), so a busy catalog is reloaded once per interval at most.
+ *
+ * A rebuild loads a new index off to the side and swaps it in at once: suggestions keep using the old one
+ * meanwhile. Events delivered during the load are applied to the old index AND replayed on the new one before the
+ * swap, so a book deleted while the snapshot is read is not added back by it.
+ */
+@Service
+@EnableScheduling
+public class TitleSuggestionService {
+
+    public static final int DEFAULT_LIMIT = 10;
+
+    private static final Logger log = LoggerFactory.getLogger( TitleSuggestionService.class );
+
+    private final BookRepository bookRepository;
+    private final CatalogVersion catalogVersion;
+    private final ReentrantLock rebuilding = new ReentrantLock();
+    private final Object changes = new Object(); // guards index swaps, event application and pendingEvents
+    private volatile TitleSuggestionIndex index = new TitleSuggestionIndex();
+    private volatile long indexedVersion = -1; // catalog version the index is at least as new as; -1 = never built
+    private List<BookChangedEvent> pendingEvents; // non-null while a rebuild reads the snapshot
+
+    public TitleSuggestionService( BookRepository bookRepository, CatalogVersion catalogVersion )
+    {
+        this.bookRepository = bookRepository;
+        this.catalogVersion = catalogVersion;
+    }
+
+    /* Startup load (Tomcat already accepts requests: events may arrive meanwhile, see the class comment).
+     * A failed load keeps the current index and is retried by the next syncWithCatalog. */
+    @EventListener( ApplicationReadyEvent.class )
+    public void rebuild()
+    {
+        if ( !rebuilding.tryLock() ) return; // the running rebuild will do
+        try
+        {
+            long start = System.nanoTime();
+            synchronized ( changes )
+            {
+                pendingEvents = new ArrayList<>();
+            }
+            long version = -1;
+            TitleSuggestionIndex loaded = null;
+            try
+            {
+                version = catalogVersion.current(); // first: the titles read afterwards are at least that new
+                loaded = load();
+            } catch ( DataAccessException e )
+            {
+                log.warn( "Title suggestion index not rebuilt, retried in books.suggest.sync-interval: {}", e.getMessage() );
+                return;
+            } finally
+            {
+                synchronized ( changes )
+                {
+                    if ( loaded != null )
+                    {
+                        for ( BookChangedEvent event : pendingEvents ) apply( loaded, event );
+                        index = loaded;
+                        indexedVersion = version;
+                    }
+                    pendingEvents = null;
+                }
+            }
+            log.info( "Title suggestion index built: {} books in {} ms", loaded.size(), ( System.nanoTime() - start ) / 1_000_000 );
+        } finally
+        {
+            rebuilding.unlock();
+        }
+    }
+
+    /* One query on tbl_catalog_version (or none while it is memoized); reloads the titles only when it moved.
+     * Also retries a startup load that failed (indexedVersion still -1). */
+    @Scheduled( fixedDelayString = "${books.suggest.sync-interval:1m}", initialDelayString = "${books.suggest.sync-interval:1m}" )
+    public void syncWithCatalog()
+    {
+        if ( catalogVersion.current() != indexedVersion ) rebuild();
+    }
+
+    // AFTER_COMMIT (default phase); fallbackExecution also covers changes made outside a transaction
+    @TransactionalEventListener( fallbackExecution = true )
+    public void onBookChanged( BookChangedEvent event )
+    {
+        synchronized ( changes )
+        {
+            apply( index, event );
+            if ( pendingEvents != null ) pendingEvents.add( event );
+        }
+    }
+
+    public List<TitleSuggestion> suggest( String query, int limit )
+    {
+        return index.suggest( query, limit );
+    }
+
+    private TitleSuggestionIndex load()
+    {
+        TitleSuggestionIndex loaded = new TitleSuggestionIndex();
+        bookRepository.findTitlesBy().forEach( book -> loaded.put( book.id(), book.title() ) );
+        return loaded;
+    }
+
+    private static void apply( TitleSuggestionIndex target, BookChangedEvent event )
+    {
+        if ( event.isDeleted() )
+        {
+            target.remove( event.id() );
+        } else
+        {
+            target.put( event.id(), event.title() );
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.books.service;
+
+import org.springframework.dao.DuplicateKeyException;
+
+/*
+ * UserService.save hit the UNIQ_USERNAME constraint: another user already has this name
+ * (compared with the column collation, so "Admin" and "admin" clash).
+ * Extends DuplicateKeyException so that generic DAO error handling still recognizes it.
+ */
+public class UserAlreadyExistsException extends DuplicateKeyException {
+
+    private final String userName;
+
+    public UserAlreadyExistsException( String userName, Throwable cause )
+    {
+        super( "User '" + userName + "' already exists", cause );
+        this.userName = userName;
+    }
+
+    public String getUserName() {return userName;}
+}
@@ -0,0 +1,27 @@
+package com.example.books.service;
+
+import java.time.Duration;
+import java.util.List;
+
+/*
+ * Outcome of one bulk user provisioning: counters for the whole file, but only the first
+ * UserProvisioningService.MAX_REPORTED_REJECTIONS rejected rows in detail.
+ * "hashing" is the wall-clock time spent hashing passwords on "hashParallelism" threads, included in "elapsed".
+ */
+public record UserProvisioningReport(
+    long rowsRead,
+    long created,
+    long rejected,
+    List<RejectedRow> rejections,
+    Duration elapsed,
+    Duration hashing,
+    int hashParallelism
+) {
+    public record RejectedRow( long line, String reason ) {}
+
+    public long rowsPerSecond()
+    {
+        long millis = Math.max( elapsed.toMillis(), 1 );
+        return rowsRead * 1000 / millis;
+    }
+}
@@ -0,0 +1,285 @@
+package com.example.books.service;
+
+import com.example.books.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+
+/*
+ * Bulk creation of users from "name,password,role" CSV files (e.g. a whole school class at once).
+ *
+ * - Streaming: the file is read line by line; only one chunk of users (and their plain passwords) is held in memory.
+ * - Validation: blank or too long names and passwords, unknown roles and names repeated in the file are reported
+ *   and skipped; names already in tbl_user are found with one IN query per chunk, before any hashing.
+ * - Hashing: the BCrypt hashes of a chunk are computed in parallel on a dedicated ForkJoinPool of
+ *   books.users.provisioning.hash-parallelism threads (default: half the CPUs), outside any transaction.
+ *   The pool is the bound: two uploads at the same time share it, and logins (PasswordHashingExecutor) keep CPUs.
+ * - Writes: one transaction and one JDBC batch insert per chunk. If the batch hits UNIQ_USERNAME (a name created
+ *   meanwhile, or equal to an existing one only under the case/accent-insensitive collation), the chunk is inserted
+ *   again row by row and only the duplicates are rejected.
+ * - Roles: resolved by name from RoleAuthorityRegistry, once per distinct name in the file.
+ *
+ * No credentials cache eviction: UserService.findCredentials never caches unknown names.
+ */
+@Service
+public class UserProvisioningService {
+
+    private static final Logger log = LoggerFactory.getLogger( UserProvisioningService.class );
+
+    public static final int CHUNK_SIZE = 200;
+    public static final int MAX_REPORTED_REJECTIONS = 100;
+    static final int MAX_NAME_LENGTH = 250;   // tbl_user.user_name
+    static final int MAX_PASSWORD_BYTES = 72; // BCrypt only hashes the first 72 bytes (Spring Security rejects longer ones)
+    static final String POOL_NAME = "user-provisioning-hashing";
+
+    private static final String INSERT_USER = "INSERT INTO tbl_user (user_name, user_password, user_fk_role) VALUES (?, ?, ?)";
+
+    private final UserRepository userRepository;
+    private final RoleAuthorityRegistry roleAuthorityRegistry;
+    private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool hashingPool;
+
+    public UserProvisioningService( UserRepository userRepository, RoleAuthorityRegistry roleAuthorityRegistry,
+                                    PasswordEncoder passwordEncoder, JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value( "${books.users.provisioning.hash-parallelism:0}" ) int hashParallelism )
+    {
+        this.userRepository = userRepository;
+        this.roleAuthorityRegistry = roleAuthorityRegistry;
+        this.passwordEncoder = passwordEncoder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate( transactionManager );
+        int parallelism = hashParallelism > 0 ? hashParallelism : Math.max( 1, Runtime.getRuntime().availableProcessors() / 2 );
+        this.hashingPool = new ForkJoinPool( parallelism, UserProvisioningService::newHashingThread, null, false );
+    }
+
+    public UserProvisioningReport provisionCsv( InputStream csv ) throws IOException
+    {
+        long start = System.nanoTime();
+        Progress progress = new Progress();
+        Set<String> namesInFile = new HashSet<>();
+        Map<String, Optional<Long>> roleIds = new HashMap<>();
+        List<NewUser> chunk = new ArrayList<>( CHUNK_SIZE );
+
+        try ( BufferedReader reader = new BufferedReader( new InputStreamReader( csv, StandardCharsets.UTF_8 ) ) )
+        {
+            long lineNumber = 0;
+            String line;
+            while ( ( line = reader.readLine() ) != null )
+            {
+                lineNumber++;
+                if ( line.isBlank() || ( lineNumber == 1 && isHeader( line ) ) ) continue;
+                progress.rowsRead++;
+
+                String problem;
+                try
+                {
+                    CsvUser user = parse( line );
+                    problem = validate( user );
+                    if ( problem == null )
+                    {
+                        Optional<Long> roleId = roleIds.computeIfAbsent( user.role().toUpperCase( Locale.ROOT ), this::resolveRole );
+                        if ( roleId.isEmpty() ) problem = "Unknown role: " + user.role();
+                        // Same folding as UNIQ_USERNAME for case; accents are left to the database
+                        else if ( !namesInFile.add( user.name().toLowerCase( Locale.ROOT ) ) ) problem = "User name repeated in the file";
+                        else chunk.add( new NewUser( lineNumber, user.name(), user.password(), roleId.get() ) );
+                    }
+                } catch ( IllegalArgumentException e ) // wrong number of columns
+                {
+                    problem = e.getMessage();
+                }
+                if ( problem != null ) progress.reject( lineNumber, problem );
+
+                if ( chunk.size() == CHUNK_SIZE )
+                {
+                    provisionChunk( chunk, progress );
+                    chunk.clear();
+                }
+            }
+        }
+        provisionChunk( chunk, progress );
+
+        Duration elapsed = Duration.ofNanos( System.nanoTime() - start );
+        log.info( "Provisioned {} users ({} rows rejected) in {} ms", progress.created, progress.rejected, elapsed.toMillis() );
+        return new UserProvisioningReport( progress.rowsRead, progress.created, progress.rejected, progress.rejections,
+                                           elapsed, Duration.ofNanos( progress.hashingNanos ), hashingPool.getParallelism() );
+    }
+
+    private void provisionChunk( List<NewUser> chunk, Progress progress )
+    {
+        if ( chunk.isEmpty() ) return;
+
+        // Existing names first: their passwords are never hashed
+        Set<String> existing = userRepository.findExistingNames( chunk.stream().map( NewUser::name ).toList() ).stream()
+                                             .map( name -> name.toLowerCase( Locale.ROOT ) )
+                                             .collect( Collectors.toSet() );
+        List<NewUser> users = new ArrayList<>( chunk.size() );
+        for ( NewUser user : chunk )
+        {
+            if ( existing.contains( user.name().toLowerCase( Locale.ROOT ) ) ) progress.reject( user.line(), "User name already exists" );
+            else users.add( user );
+        }
+        if ( users.isEmpty() ) return;
+
+        long hashingStart = System.nanoTime();
+        String[] hashes = new String[users.size()];
+        hashingPool.invoke( new HashTask( users, hashes, 0, users.size() ) );
+        progress.hashingNanos += System.nanoTime() - hashingStart;
+
+        List<Object[]> rows = new ArrayList<>( users.size() );
+        for ( int i = 0; i < users.size(); i++ )
+        {
+            rows.add( new Object[] { users.get( i ).name(), hashes[i], users.get( i ).roleId() } );
+        }
+        try
+        {
+            transactionTemplate.executeWithoutResult( status -> jdbcTemplate.batchUpdate( INSERT_USER, rows ) );
+            progress.created += rows.size();
+        } catch ( DataIntegrityViolationException e ) // the whole chunk was rolled back
+        {
+            insertOneByOne( users, rows, progress );
+        }
+    }
+
+    // Auto-commit per row: each duplicate only loses its own row
+    private void insertOneByOne( List<NewUser> users, List<Object[]> rows, Progress progress )
+    {
+        for ( int i = 0; i < rows.size(); i++ )
+        {
+            try
+            {
+                jdbcTemplate.update( INSERT_USER, rows.get( i ) );
+                progress.created++;
+            } catch ( DuplicateKeyException e )
+            {
+                progress.reject( users.get( i ).line(), "User name already exists" );
+            }
+        }
+    }
+
+    // A role missing from the registry may have been inserted after startup: reload once per distinct name and file
+    private Optional<Long> resolveRole( String roleName )
+    {
+        return roleAuthorityRegistry.roleId( roleName ).or( () -> {
+            roleAuthorityRegistry.reload();
+            return roleAuthorityRegistry.roleId( roleName );
+        } );
+    }
+
+    private static String validate( CsvUser user )
+    {
+        List<String> problems = new ArrayList<>();
+        if ( user.name().isBlank() ) problems.add( "User name is required" );
+        if ( user.name().length() > MAX_NAME_LENGTH ) problems.add( "User name longer than " + MAX_NAME_LENGTH + " characters" );
+        if ( user.password().isBlank() ) problems.add( "Password is required" );
+        if ( user.password().getBytes( StandardCharsets.UTF_8 ).length > MAX_PASSWORD_BYTES )
+        {
+            problems.add( "Password longer than " + MAX_PASSWORD_BYTES + " bytes" );
+        }
+        if ( user.role().isBlank() ) problems.add( "Role is required" );
+        return problems.isEmpty() ? null : String.join( "; ", problems );
+    }
+
+    private static boolean isHeader( String line )
+    {
+        return line.replace( "\"", "" ).replace( " ", "" ).equalsIgnoreCase( "name,password,role" );
+    }
+
+    /*
+     * "name,password,role": the name ends at the FIRST comma and the role starts after the LAST one,
+     * so passwords may contain commas. Names and roles are stripped, passwords are kept as typed.
+     */
+    static CsvUser parse( String line )
+    {
+        int first = line.indexOf( ',' );
+        int last = line.lastIndexOf( ',' );
+        if ( first < 0 || first == last ) throw new IllegalArgumentException( "Expected 3 columns: name,password,role" );
+        return new CsvUser( line.substring( 0, first ).strip(), line.substring( first + 1, last ), line.substring( last + 1 ).strip() );
+    }
+
+    @PreDestroy
+    public void shutdown()
+    {
+        hashingPool.shutdownNow();
+    }
+
+    private static ForkJoinWorkerThread newHashingThread( ForkJoinPool pool )
+    {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread( pool );
+        thread.setName( POOL_NAME + "-" + thread.getPoolIndex() );
+        return thread;
+    }
+
+    record CsvUser( String name, String password, String role ) {}
+
+    private record NewUser( long line, String name, String password, Long roleId ) {}
+
+    // Halves the range down to single passwords (each hash is milliseconds of CPU): idle workers steal the other halves
+    private final class HashTask extends RecursiveAction {
+
+        private final List<NewUser> users;
+        private final String[] hashes;
+        private final int from, to;
+
+        HashTask( List<NewUser> users, String[] hashes, int from, int to )
+        {
+            this.users = users;
+            this.hashes = hashes;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if ( to - from == 1 )
+            {
+                hashes[from] = passwordEncoder.encode( users.get( from ).password() );
+                return;
+            }
+            int middle = ( from + to ) >>> 1;
+            invokeAll( new HashTask( users, hashes, from, middle ), new HashTask( users, hashes, middle, to ) );
+        }
+    }
+
+    private static final class Progress {
+
+        long rowsRead, created, rejected, hashingNanos;
+        final List<UserProvisioningReport.RejectedRow> rejections = new ArrayList<>();
+
+        void reject( long line, String reason )
+        {
+            rejected++;
+            if ( rejections.size() < MAX_REPORTED_REJECTIONS ) rejections.add( new UserProvisioningReport.RejectedRow( line, reason ) );
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.books.service;
+
+import com.example.books.dto.UserCredentials;
+import com.example.books.model.User;
+import com.example.books.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+import static com.example.books.config.CacheConfig.USER_CREDENTIALS_CACHE;
+
+/*
+ * Users of the application. Every write goes through here so the credentials cache used by
+ * the login (MyUsernamePwdAuthenticationProvider) never serves a replaced password hash.
+ * (UserProvisioningService only inserts new users in bulk: unknown names are not cached, so nothing to evict.)
+ *
+ * Writes clear the whole cache: MySQL compares user names case- and accent-insensitively, so "Admin" and "admin"
+ * may be two cache keys for the same row. Users change rarely; the cache refills with one query per user.
+ */
+@Service
+public class UserService {
+
+    private final UserRepository userRepository;
+
+    public UserService( UserRepository userRepository )
+    {
+        this.userRepository = userRepository;
+    }
+
+    // Login lookup, cached with the TTL of spring.cache.caffeine.spec. Unknown names are not cached.
+    @Cacheable( cacheNames = USER_CREDENTIALS_CACHE, unless = "#result == null" )
+    @Transactional( readOnly = true )
+    public Optional<UserCredentials> findCredentials( String name )
+    {
+        return userRepository.findCredentialsByName( name );
+    }
+
+    /*
+     * One INSERT (or UPDATE), no "does this name exist?" query first: the UNIQ_USERNAME constraint rejects duplicates,
+     * also when two requests register the same name at the same time.
+     * Throws UserAlreadyExistsException for a duplicate name; other integrity errors (e.g. unknown role) are rethrown.
+     */
+    @CacheEvict( cacheNames = USER_CREDENTIALS_CACHE, allEntries = true )
+    @Transactional
+    public User save( User user )
+    {
+        try
+        {
+            return userRepository.saveAndFlush( user ); // flush: an UPDATE would otherwise only fail at commit
+        } catch ( DataIntegrityViolationException e )
+        {
+            if ( isUniqueViolation( e ) ) throw new UserAlreadyExistsException( user.getName(), e );
+            throw e;
+        }
+    }
+
+    /* Re-hash on login (see UserRepository.updatePasswordHash); false when the hash changed meanwhile */
+    @CacheEvict( cacheNames = USER_CREDENTIALS_CACHE, allEntries = true )
+    @Transactional
+    public boolean updatePasswordHash( Long id, String verifiedHash, String newHash )
+    {
+        return userRepository.updatePasswordHash( id, verifiedHash, newHash ) == 1;
+    }
+
+    // Hibernate classifies the vendor error (MySQL 1062, SQLState 23505 elsewhere); tbl_user has no other unique key
+    private static boolean isUniqueViolation( DataIntegrityViolationException e )
+    {
+        return e.getCause() instanceof ConstraintViolationException violation
+               && violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE;
+    }
+}
@@ -0,0 +1,25 @@
+-- ------------------------------------------------
+-- API keys of machine clients (integrations calling /api/**)
+-- ------------------------------------------------
+-- A key is "<prefix>.<secret>" (see ApiKeyService); it is shown once, when issued, and never stored:
+-- - key_prefix: the public part, looked up by the UNIQ_API_KEY_PREFIX index (binary collation: Base64url is case-sensitive)
+-- - key_digest: SHA-256 of the secret part, compared in constant time. A fast digest is enough here: the secret is
+--   32 random bytes, not a password a person chose, so there is nothing to brute-force (no BCrypt per request)
+-- A key authenticates as its user, with the user's role; deleting the user deletes the keys.
+CREATE TABLE tbl_api_key
+(
+    api_key_id      BIGINT                NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    key_prefix      VARCHAR(16)           CHARACTER SET ascii COLLATE ascii_bin NOT NULL,
+    key_digest      BINARY(32)            NOT NULL,
+    key_name        VARCHAR(250)          NOT NULL,
+    key_fk_user     BIGINT                NOT NULL,
+    key_created_at  TIMESTAMP             NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+ALTER TABLE tbl_api_key
+    ADD CONSTRAINT UNIQ_API_KEY_PREFIX
+        UNIQUE (key_prefix);
+
+ALTER TABLE tbl_api_key
+    ADD CONSTRAINT FK_API_KEY_TO_USER_ID
+        FOREIGN KEY (key_fk_user) REFERENCES tbl_user (user_id) ON DELETE CASCADE;
@@ -0,0 +1,12 @@
+-- ------------------------------------------------
+-- Version of the whole book catalog (ETag of /api/books, key of the "bookPages" cache), see CatalogVersion
+-- ------------------------------------------------
+-- A single row, incremented in the same transaction as every book write, so all replicas see the same
+-- version and it changes exactly when the committed catalog changes.
+CREATE TABLE tbl_catalog_version
+(
+    catalog_id      TINYINT             NOT NULL PRIMARY KEY,
+    catalog_version BIGINT              NOT NULL
+);
+
+INSERT INTO tbl_catalog_version (catalog_id, catalog_version) VALUES (1, 0);
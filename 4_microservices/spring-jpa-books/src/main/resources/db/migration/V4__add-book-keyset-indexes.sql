@@ -0,0 +1,9 @@
+-- ------------------------------------------------
+-- Indexes for keyset (seek) pagination of /books
+-- ------------------------------------------------
+-- Each optional sort key is paired with book_id (the tiebreaker used by the cursor),
+-- so "WHERE (key, id) > (?, ?) ORDER BY key, id LIMIT n" is answered by an index range
+-- scan that stops after n rows. Sorting by id alone already uses the primary key.
+CREATE INDEX IDX_BOOK_TITLE_ID ON tbl_book (book_title, book_id);
+
+CREATE INDEX IDX_BOOK_PRICE_ID ON tbl_book (book_price, book_id);
@@ -0,0 +1,7 @@
+-- ------------------------------------------------
+-- Full-text index for /books/search
+-- ------------------------------------------------
+-- MATCH (book_title) AGAINST (...) is answered by this inverted index, so a title search
+-- no longer scans every row the way "book_title LIKE '%term%'" does.
+-- Note: InnoDB only indexes words of at least innodb_ft_min_token_size characters (default 3).
+CREATE FULLTEXT INDEX FTX_BOOK_TITLE ON tbl_book (book_title);
@@ -0,0 +1,15 @@
+-- ------------------------------------------------
+-- Pooled id allocation for tbl_book ("pooled-ids" profile, see META-INF/orm-pooled-ids.xml)
+-- ------------------------------------------------
+-- One row per pooled sequence. next_val is the next free id: Hibernate (pooled-lo optimizer) reserves
+-- [next_val, next_val + 49] with a single UPDATE and moves next_val forward by 50.
+-- The table is created in every profile, so switching to "pooled-ids" needs no extra migration.
+CREATE TABLE tbl_id_sequence
+(
+    seq_name        VARCHAR(64)         NOT NULL PRIMARY KEY,
+    next_val        BIGINT              NOT NULL
+);
+
+-- Existing books keep their AUTO_INCREMENT ids; pooled ids start after the highest one
+INSERT INTO tbl_id_sequence (seq_name, next_val)
+SELECT 'tbl_book', COALESCE(MAX(book_id), 0) + 1 FROM tbl_book;
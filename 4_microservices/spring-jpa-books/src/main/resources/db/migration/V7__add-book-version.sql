@@ -0,0 +1,8 @@
+-- ------------------------------------------------
+-- Optimistic locking for tbl_book (@Version Book.version)
+-- ------------------------------------------------
+-- Hibernate increments book_version on every update and adds "AND book_version = ?" to the UPDATE:
+-- an update based on a stale read changes 0 rows and is reported as a conflict instead of overwriting.
+-- Existing rows (and rows inserted by the JDBC batch writer) start at version 0.
+ALTER TABLE tbl_book
+    ADD COLUMN book_version BIGINT NOT NULL DEFAULT 0;
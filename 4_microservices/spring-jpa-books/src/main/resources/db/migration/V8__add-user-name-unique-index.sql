@@ -0,0 +1,11 @@
+-- ------------------------------------------------
+-- Unique index on tbl_user.user_name
+-- ------------------------------------------------
+-- Every login looks the user up by name (UserRepository.findCredentialsByName): without an index on
+-- user_name that is a full scan of tbl_user. The UNIQUE constraint also makes the database the single
+-- check for duplicate names: UserService.save inserts directly and maps the duplicate-key error
+-- (no "SELECT then INSERT" race between two registrations of the same name).
+-- With the default (case-insensitive) collation, "Admin" and "admin" are duplicates, as in the lookup.
+ALTER TABLE tbl_user
+    ADD CONSTRAINT UNIQ_USERNAME
+        UNIQUE (user_name);
@@ -0,0 +1,33 @@
+-- ------------------------------------------------
+-- Spring Session JDBC tables (schema-mysql.sql of spring-session-jdbc)
+-- ------------------------------------------------
+-- Only used with the "jdbc-session" profile: every replica of the application reads and writes
+-- the HttpSession here, so a login made on one replica is valid on all of them.
+-- Created in every profile (like tbl_id_sequence), so the profile can be switched on at any restart;
+-- spring.session.jdbc.initialize-schema=never leaves the schema to Flyway.
+CREATE TABLE SPRING_SESSION
+(
+    PRIMARY_ID              CHAR(36)        NOT NULL,
+    SESSION_ID              CHAR(36)        NOT NULL,
+    CREATION_TIME           BIGINT          NOT NULL,
+    LAST_ACCESS_TIME        BIGINT          NOT NULL,
+    MAX_INACTIVE_INTERVAL   INT             NOT NULL,
+    EXPIRY_TIME             BIGINT          NOT NULL,
+    PRINCIPAL_NAME          VARCHAR(100),
+    CONSTRAINT SPRING_SESSION_PK PRIMARY KEY (PRIMARY_ID)
+) ENGINE = InnoDB ROW_FORMAT = DYNAMIC;
+
+CREATE UNIQUE INDEX SPRING_SESSION_IX1 ON SPRING_SESSION (SESSION_ID);
+-- Used by the batched cleanup of expired sessions (JdbcSessionCleanup)
+CREATE INDEX SPRING_SESSION_IX2 ON SPRING_SESSION (EXPIRY_TIME);
+CREATE INDEX SPRING_SESSION_IX3 ON SPRING_SESSION (PRINCIPAL_NAME);
+
+-- Deleting a session deletes its attributes (ON DELETE CASCADE)
+CREATE TABLE SPRING_SESSION_ATTRIBUTES
+(
+    SESSION_PRIMARY_ID      CHAR(36)        NOT NULL,
+    ATTRIBUTE_NAME          VARCHAR(200)    NOT NULL,
+    ATTRIBUTE_BYTES         BLOB            NOT NULL,
+    CONSTRAINT SPRING_SESSION_ATTRIBUTES_PK PRIMARY KEY (SESSION_PRIMARY_ID, ATTRIBUTE_NAME),
+    CONSTRAINT SPRING_SESSION_ATTRIBUTES_FK FOREIGN KEY (SESSION_PRIMARY_ID) REFERENCES SPRING_SESSION (PRIMARY_ID) ON DELETE CASCADE
+) ENGINE = InnoDB ROW_FORMAT = DYNAMIC;
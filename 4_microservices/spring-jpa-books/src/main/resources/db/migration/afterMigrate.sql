@@ -0,0 +1,10 @@
+-- ------------------------------------------------
+-- Flyway callback: runs after every migrate (i.e. at every application start), even with no pending migration
+-- ------------------------------------------------
+-- While the application runs WITHOUT the "pooled-ids" profile, books get AUTO_INCREMENT ids that
+-- tbl_id_sequence does not know about. Moving next_val past the highest id before the application starts
+-- lets the profile be switched on at any restart without handing out ids that are already taken.
+-- (next_val only moves forward: a block reserved by the previous run is never given out twice.)
+UPDATE tbl_id_sequence
+SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(book_id), 0) + 1 FROM tbl_book))
+WHERE seq_name = 'tbl_book';
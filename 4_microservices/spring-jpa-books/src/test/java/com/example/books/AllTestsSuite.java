@@ -1,8 +1,23 @@
 package com.example.books;
 
+import com.example.books.config.PasswordEncoderConfigTest;
+import com.example.books.config.PasswordHashingExecutorTest;
+import com.example.books.config.SignedCookieSecurityContextRepositoryTest;
+import com.example.books.config.StripedTokenBucketsTest;
+import com.example.books.integration.BookApiControllerIntegrationTest;
 import com.example.books.integration.BookControllerIntegrationTest;
+import com.example.books.integration.CacheEvictionIntegrationTest;
+import com.example.books.integration.JdbcSessionReplicasIntegrationTest;
+import com.example.books.integration.MetricsIntegrationTest;
+import com.example.books.integration.TitleSuggestionSyncIntegrationTest;
+import com.example.books.integration.UserProvisioningControllerIntegrationTest;
 import com.example.books.repository.MagicURLBookRepositoryTest;
 import com.example.books.repository.UserRoleAuthenticationDatabaseTests;
+import com.example.books.service.ApiKeyServiceTest;
+import com.example.books.service.BookExportServiceTest;
+import com.example.books.service.BookServiceWriteStatementsTest;
+import com.example.books.service.RoleAuthorityRegistryTest;
+import com.example.books.service.TitleSuggestionIndexTest;
 import org.junit.platform.suite.api.SelectClasses;
 import org.junit.platform.suite.api.Suite;
 import org.junit.platform.suite.api.SuiteDisplayName;
@@ -13,8 +28,23 @@ import com.example.books.repository.BookRepositoryUsingSpringTestContainersSuppo
 
 @SelectClasses( {
     BookControllerIntegrationTest.class,
+    BookApiControllerIntegrationTest.class,
+    JdbcSessionReplicasIntegrationTest.class,
+    UserProvisioningControllerIntegrationTest.class,
+    MetricsIntegrationTest.class,
+    CacheEvictionIntegrationTest.class,
+    TitleSuggestionSyncIntegrationTest.class,
     BookRepositoryUsingSpringTestContainersSupportTest.class,
     MagicURLBookRepositoryTest.class,
     UserRoleAuthenticationDatabaseTests.class,
+    TitleSuggestionIndexTest.class,
+    BookServiceWriteStatementsTest.class,
+    PasswordHashingExecutorTest.class,
+    PasswordEncoderConfigTest.class,
+    StripedTokenBucketsTest.class,
+    SignedCookieSecurityContextRepositoryTest.class,
+    RoleAuthorityRegistryTest.class,
+    ApiKeyServiceTest.class,
+    BookExportServiceTest.class,
 })
 public class AllTestsSuite {}
\ No newline at end of file
@@ -0,0 +1,111 @@
+package com.example.books.benchmark;
+
+import com.example.books.SpringJdbcBooksApplication;
+import com.example.books.TestcontainersConfiguration;
+import com.example.books.model.Book;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JPA insert throughput (rows/s) of tbl_book with IDENTITY ids (default) vs pooled ids ("pooled-ids" profile).
+ *
+ * Each invocation persists {@value #ROWS} books in one transaction, flushing every 50 rows, i.e. what
+ * a bulk write through Spring Data/JPA does. With IDENTITY, Hibernate executes every INSERT at persist()
+ * time to read the generated key; with pooled ids the INSERTs are sent in JDBC batches at flush().
+ *
+ * How to run from the module directory (Docker must be running, a MySQL Testcontainer is started per mode):
+ * <pre>
+ *   ./mvnw test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath com.example.books.benchmark.BookInsertBenchmark"
+ * </pre>
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 3, time = 5 )
+@Measurement( iterations = 5, time = 5 )
+@Fork( 1 )
+public class BookInsertBenchmark {
+
+    static final int ROWS = 1_000;
+    private static final int FLUSH_EVERY = 50;
+
+    @Param( { "identity", "pooled-ids" } )
+    private String idMode;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate transaction;
+
+    @Setup( Level.Trial )
+    public void startApplication()
+    {
+        SpringApplicationBuilder builder =
+            new SpringApplicationBuilder( SpringJdbcBooksApplication.class, TestcontainersConfiguration.class )
+                .web( WebApplicationType.NONE )
+                .properties( "spring.docker.compose.enabled=false", "logging.level.root=WARN" );
+        if ( idMode.equals( "pooled-ids" ) )
+        {
+            builder.profiles( "pooled-ids" );
+        } else
+        {
+            builder.properties( "spring.jpa.properties.hibernate.jdbc.batch_size=50" ); // same setting, no effect on IDENTITY
+        }
+        context = builder.run();
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager( context.getBean( EntityManagerFactory.class ) );
+        transaction = new TransactionTemplate( context.getBean( PlatformTransactionManager.class ) );
+    }
+
+    @TearDown( Level.Trial )
+    public void stopApplication()
+    {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation( ROWS ) // scores are reported per row
+    public void persistBooks()
+    {
+        transaction.executeWithoutResult( status -> {
+            for ( int i = 1; i <= ROWS; i++ )
+            {
+                entityManager.persist( new Book( null, "Benchmark Book " + i, 10 + ( i % 90 ) ) );
+                if ( i % FLUSH_EVERY == 0 )
+                {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        } );
+    }
+
+    public static void main( String[] args ) throws RunnerException
+    {
+        new Runner( new OptionsBuilder().include( BookInsertBenchmark.class.getSimpleName() ).build() ).run();
+    }
+}
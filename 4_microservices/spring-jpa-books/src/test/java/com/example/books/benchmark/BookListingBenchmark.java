@@ -0,0 +1,116 @@
+package com.example.books.benchmark;
+
+import com.example.books.SpringJdbcBooksApplication;
+import com.example.books.TestcontainersConfiguration;
+import com.example.books.dto.BookSummary;
+import com.example.books.model.Book;
+import com.example.books.repository.BookRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Allocation per /books page: managed {@code Book} entities (before) vs {@code BookSummary} projections (after).
+ *
+ * Both benchmarks read one keyset page inside a read-only transaction, like {@code BookService.findPage},
+ * straight from the repository (the Spring cache in front of BookService is bypassed on purpose).
+ * The interesting number is {@code gc.alloc.rate.norm} (bytes allocated per page) from the GC profiler.
+ *
+ * How to run from the module directory (Docker must be running, a MySQL Testcontainer is started):
+ * <pre>
+ *   ./mvnw test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath com.example.books.benchmark.BookListingBenchmark"
+ * </pre>
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class BookListingBenchmark {
+
+    @Param( { "20", "100" } )
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private BookRepository bookRepository;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup( Level.Trial )
+    public void startApplication()
+    {
+        // Same wiring as TestSpringJdbcBooksApplication (MySQL Testcontainer + Flyway), without the web server
+        context = new SpringApplicationBuilder( SpringJdbcBooksApplication.class, TestcontainersConfiguration.class )
+            .web( WebApplicationType.NONE )
+            .properties( "spring.docker.compose.enabled=false", "logging.level.root=WARN" )
+            .run();
+        bookRepository = context.getBean( BookRepository.class );
+        readOnlyTransaction = new TransactionTemplate( context.getBean( PlatformTransactionManager.class ) );
+        readOnlyTransaction.setReadOnly( true );
+
+        context.getBean( JdbcTemplate.class ).batchUpdate(
+            "INSERT INTO tbl_book (book_title, book_price) VALUES (?, ?)",
+            IntStream.rangeClosed( 1, 10_000 )
+                     .mapToObj( i -> new Object[] { "Benchmark Book " + i, 10 + ( i % 90 ) } )
+                     .toList() );
+    }
+
+    @TearDown( Level.Trial )
+    public void stopApplication()
+    {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Book> entityPage()
+    {
+        return readOnlyTransaction.execute( status ->
+            bookRepository.findAllBy( ScrollPosition.keyset(), Sort.by( "title", "id" ), Limit.of( pageSize ) )
+                          .getContent() );
+    }
+
+    @Benchmark
+    public List<BookSummary> projectionPage()
+    {
+        return readOnlyTransaction.execute( status ->
+            bookRepository.findSummariesBy( ScrollPosition.keyset(), Sort.by( "title", "id" ), Limit.of( pageSize ) )
+                          .getContent() );
+    }
+
+    public static void main( String[] args ) throws RunnerException
+    {
+        new Runner( new OptionsBuilder()
+                        .include( BookListingBenchmark.class.getSimpleName() )
+                        .addProfiler( GCProfiler.class ) // reports gc.alloc.rate.norm = bytes allocated per page
+                        .build() )
+            .run();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.books.benchmark;
+
+import com.example.books.dto.TitleSuggestion;
+import com.example.books.service.TitleSuggestionIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup latency of the in-memory title suggestion trie (no Spring, no database, no Docker needed).
+ *
+ * The index is filled with synthetic titles built from Portuguese words (with accents),
+ * and queried the way the search box does: one short prefix, a longer prefix, and two words.
+ *
+ * How to run from the module directory:
+ * <pre>
+ *   ./mvnw test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath com.example.books.benchmark.TitleSuggestionIndexBenchmark"
+ * </pre>
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class TitleSuggestionIndexBenchmark {
+
+    private static final String[] WORDS = {
+        "coração", "senhor", "anéis", "memórias", "póstumas", "brás", "cubas", "trevas", "moscas", "sertão",
+        "veredas", "cortiço", "ateneu", "iracema", "guarani", "macunaíma", "capitães", "areia", "vidas", "secas",
+        "estrela", "hora", "paixão", "segundo", "quincas", "borba", "cidade", "sítio", "pica-pau", "amarelo" };
+
+    @Param( { "10000", "100000" } )
+    private int books;
+
+    private TitleSuggestionIndex index;
+
+    @Setup( Level.Trial )
+    public void fillIndex()
+    {
+        index = new TitleSuggestionIndex();
+        SplittableRandom random = new SplittableRandom( 42 );
+        for ( long id = 1; id <= books; id++ )
+        {
+            index.put( id, WORDS[random.nextInt( WORDS.length )] + " " + WORDS[random.nextInt( WORDS.length )]
+                           + " " + WORDS[random.nextInt( WORDS.length )] + " " + id );
+        }
+    }
+
+    @Benchmark
+    public List<TitleSuggestion> shortPrefix()
+    {
+        return index.suggest( "co", 10 );
+    }
+
+    @Benchmark
+    public List<TitleSuggestion> longPrefixWithoutAccents()
+    {
+        return index.suggest( "coracao", 10 );
+    }
+
+    @Benchmark
+    public List<TitleSuggestion> twoWords()
+    {
+        return index.suggest( "senhor ane", 10 );
+    }
+
+    @Benchmark
+    public List<TitleSuggestion> noMatch()
+    {
+        return index.suggest( "xyz", 10 );
+    }
+
+    public static void main( String[] args ) throws RunnerException
+    {
+        new Runner( new OptionsBuilder().include( TitleSuggestionIndexBenchmark.class.getSimpleName() ).build() ).run();
+    }
+}
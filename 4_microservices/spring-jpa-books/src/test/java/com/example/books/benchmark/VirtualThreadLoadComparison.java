@@ -0,0 +1,182 @@
+package com.example.books.benchmark;
+
+import com.example.books.SpringJdbcBooksApplication;
+import com.example.books.TestcontainersConfiguration;
+import com.example.books.model.Book;
+import com.example.books.service.BookBatchWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+/**
+ * HTTP load comparison of the default platform-thread Tomcat vs the "virtual-threads" profile.
+ *
+ * Not a JMH benchmark: it measures the whole request path (Tomcat, Spring MVC, Hikari, MySQL) under many
+ * concurrent clients. For each mode the application is started on a random port with its own MySQL Testcontainer,
+ * seeded with {@value #BOOKS} books, then CLIENTS concurrent clients call the uncached, MySQL-bound
+ * /books/search endpoint in a loop (warm-up, then measurement). Both modes use the same Hikari pool size,
+ * so only the request threads differ. The table printed at the end has the throughput, latency percentiles,
+ * failed requests and the pinning events reported by VirtualThreadPinningMonitor (virtual-threads only).
+ *
+ * The clients run in the same JVM as the server (same CPUs for both modes): compare the modes with each other,
+ * not with a production deployment.
+ *
+ * How to run from the module directory (Docker must be running):
+ * <pre>
+ *   ./mvnw test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-Dclients=400 -Dseconds=20 -cp %classpath com.example.books.benchmark.VirtualThreadLoadComparison"
+ * </pre>
+ * Options (system properties): clients (400), seconds (20), warmupSeconds (5), tomcatThreads (200, platform mode),
+ * hikariPool (20, both modes).
+ */
+public class VirtualThreadLoadComparison {
+
+    static final int BOOKS = 5_000;
+    private static final String[] WORDS = { "java", "spring", "mysql", "thread", "cache", "index", "query", "design" };
+
+    private static final int CLIENTS = Integer.getInteger( "clients", 400 );
+    private static final Duration MEASUREMENT = Duration.ofSeconds( Long.getLong( "seconds", 20 ) );
+    private static final Duration WARMUP = Duration.ofSeconds( Long.getLong( "warmupSeconds", 5 ) );
+    private static final int TOMCAT_THREADS = Integer.getInteger( "tomcatThreads", 200 );
+    private static final int HIKARI_POOL = Integer.getInteger( "hikariPool", 20 );
+
+    record Result( String mode, long requests, long failures, double requestsPerSecond,
+                   double p50Millis, double p99Millis, double maxMillis, long pinnedEvents ) {}
+
+    public static void main( String[] args ) throws Exception
+    {
+        List<Result> results = new ArrayList<>();
+        for ( String mode : List.of( "platform", "virtual-threads" ) )
+        {
+            results.add( run( mode ) );
+        }
+
+        System.out.printf( "%nGET /books/search, %d clients, %d s (after %d s warm-up), Hikari pool %d%n",
+                           CLIENTS, MEASUREMENT.toSeconds(), WARMUP.toSeconds(), HIKARI_POOL );
+        System.out.printf( "%-16s %10s %9s %10s %9s %9s %9s %7s%n",
+                           "mode", "requests", "failed", "req/s", "p50 ms", "p99 ms", "max ms", "pinned" );
+        for ( Result r : results )
+        {
+            System.out.printf( "%-16s %10d %9d %10.0f %9.1f %9.1f %9.1f %7d%n", r.mode(), r.requests(), r.failures(),
+                               r.requestsPerSecond(), r.p50Millis(), r.p99Millis(), r.maxMillis(), r.pinnedEvents() );
+        }
+    }
+
+    static Result run( String mode ) throws Exception
+    {
+        // Command-line arguments: they take precedence over application.properties and the profile's file
+        List<String> arguments = new ArrayList<>( List.of(
+            "--server.port=0", "--spring.docker.compose.enabled=false", "--logging.level.root=WARN",
+            "--logging.level.org.springframework.security=WARN", "--logging.level.org.springframework.security.web.csrf=WARN",
+            "--spring.datasource.hikari.maximum-pool-size=" + HIKARI_POOL ) );
+        SpringApplicationBuilder builder =
+            new SpringApplicationBuilder( SpringJdbcBooksApplication.class, TestcontainersConfiguration.class )
+                .web( WebApplicationType.SERVLET );
+        if ( mode.equals( "virtual-threads" ) )
+        {
+            builder.profiles( "virtual-threads" );
+        } else
+        {
+            arguments.add( "--server.tomcat.threads.max=" + TOMCAT_THREADS );
+        }
+
+        try ( ConfigurableApplicationContext context = builder.run( arguments.toArray( String[]::new ) ) )
+        {
+            seed( context );
+            int port = ( (WebServerApplicationContext) context ).getWebServer().getPort();
+            URI base = URI.create( "http://localhost:" + port + "/books/search?q=" );
+
+            try ( HttpClient client = HttpClient.newBuilder().connectTimeout( Duration.ofSeconds( 10 ) ).build() )
+            {
+                drive( client, base, WARMUP );
+                long[] latencies = drive( client, base, MEASUREMENT );
+
+                long failures = Arrays.stream( latencies ).filter( latency -> latency < 0 ).count();
+                long[] succeeded = Arrays.stream( latencies ).filter( latency -> latency >= 0 ).sorted().toArray();
+                long pinned = context.getBean( MeterRegistry.class ).find( "jvm.threads.virtual.pinned" ).timers()
+                                     .stream().mapToLong( Timer::count ).sum();
+                return new Result( mode, latencies.length, failures,
+                                   latencies.length / (double) MEASUREMENT.toSeconds(),
+                                   percentileMillis( succeeded, 0.50 ), percentileMillis( succeeded, 0.99 ),
+                                   percentileMillis( succeeded, 1.0 ), pinned );
+            }
+        }
+    }
+
+    private static void seed( ConfigurableApplicationContext context )
+    {
+        BookBatchWriter writer = context.getBean( BookBatchWriter.class );
+        TransactionTemplate transaction = new TransactionTemplate( context.getBean( PlatformTransactionManager.class ) );
+        List<Book> books = IntStream.rangeClosed( 1, BOOKS )
+                                    .mapToObj( i -> new Book( null, "Load Test " + WORDS[i % WORDS.length] + " " + i,
+                                                              10 + ( i % 90 ) ) )
+                                    .toList();
+        transaction.executeWithoutResult( status -> writer.insert( books ) );
+    }
+
+    /* Each client (a virtual thread) sends requests back to back until the deadline; latency in ns, -1 = failed */
+    private static long[] drive( HttpClient client, URI base, Duration duration ) throws Exception
+    {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<long[]>> clients = new ArrayList<>( CLIENTS );
+        try ( ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor() )
+        {
+            for ( int c = 0; c < CLIENTS; c++ )
+            {
+                clients.add( executor.submit( () -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while ( System.nanoTime() < deadline )
+                    {
+                        String word = WORDS[ThreadLocalRandom.current().nextInt( WORDS.length )];
+                        HttpRequest request = HttpRequest.newBuilder( URI.create( base + word ) )
+                                                         .timeout( Duration.ofSeconds( 30 ) ).build();
+                        long start = System.nanoTime();
+                        long latency;
+                        try
+                        {
+                            int status = client.send( request, HttpResponse.BodyHandlers.discarding() ).statusCode();
+                            latency = status == 200 ? System.nanoTime() - start : -1;
+                        } catch ( IOException e )
+                        {
+                            latency = -1;
+                        }
+                        if ( count == latencies.length ) latencies = Arrays.copyOf( latencies, count * 2 );
+                        latencies[count++] = latency;
+                    }
+                    return Arrays.copyOf( latencies, count );
+                } ) );
+            }
+        }
+        List<long[]> all = new ArrayList<>();
+        for ( Future<long[]> future : clients ) all.add( future.get() );
+        return all.stream().flatMapToLong( Arrays::stream ).toArray();
+    }
+
+    private static double percentileMillis( long[] sortedNanos, double percentile )
+    {
+        if ( sortedNanos.length == 0 ) return Double.NaN;
+        int index = (int) Math.ceil( percentile * sortedNanos.length ) - 1;
+        return sortedNanos[Math.clamp( index, 0, sortedNanos.length - 1 )] / 1_000_000.0;
+    }
+}
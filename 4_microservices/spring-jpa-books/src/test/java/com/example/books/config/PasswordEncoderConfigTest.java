@@ -0,0 +1,60 @@
+package com.example.books.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plain unit tests (no Spring context) for the calibrated, self-describing password encoder.
+ */
+@DisplayName("Test class for PasswordEncoderConfig - BCrypt cost calibration and re-hash detection")
+public class PasswordEncoderConfigTest {
+
+    private final PasswordEncoder encoder = new PasswordEncoderConfig().passwordEncoder(5, Duration.ofMillis(50), 10, 14);
+
+    @Test
+    @DisplayName("Given any target latency, when calibrating, then the cost stays within [min, max]")
+    void givenTargetLatency_whenCalibrate_thenCostWithinBounds() {
+        assertThat(BCryptCostCalibration.calibrate(Duration.ofNanos(1), 4, 6))
+                .as("Target impossible to meet: the minimum is a floor").isEqualTo(4);
+        assertThat(BCryptCostCalibration.calibrate(Duration.ofHours(1), 4, 6))
+                .as("Generous target: capped at the maximum").isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Given a password, when encoding, then the hash is prefixed with {bcrypt} and has the configured cost")
+    void givenPassword_whenEncode_thenSelfDescribingHashWithConfiguredCost() {
+        String hash = encoder.encode("12345");
+
+        assertThat(hash).startsWith("{bcrypt}$2a$05$");
+        assertThat(encoder.matches("12345", hash)).isTrue();
+        assertThat(encoder.upgradeEncoding(hash)).as("Current cost: nothing to upgrade").isFalse();
+    }
+
+    @Test
+    @DisplayName("Given hashes with another cost or without prefix, when checking, then they match and only lower costs need an upgrade")
+    void givenOtherCostOrLegacyHash_whenMatches_thenMatchAndOnlyLowerCostsUpgraded() {
+        String legacy = new BCryptPasswordEncoder(4).encode("12345"); // like the V2 migration users: no "{bcrypt}"
+        String lowerCost = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("12345");
+        String higherCost = "{bcrypt}" + new BCryptPasswordEncoder(6).encode("12345");
+
+        assertThat(encoder.matches("12345", legacy)).as("Legacy hash still matches").isTrue();
+        assertThat(encoder.upgradeEncoding(legacy)).as("Legacy hash gets the prefix and current cost").isTrue();
+        assertThat(encoder.upgradeEncoding(lowerCost)).as("A lower cost is raised to the current one").isTrue();
+        assertThat(encoder.matches("12345", higherCost)).isTrue();
+        assertThat(encoder.upgradeEncoding(higherCost))
+                .as("A higher cost (e.g. set by a replica calibrated higher) is never lowered").isFalse();
+    }
+
+    @Test
+    @DisplayName("Given BCrypt hashes, when reading their cost, then the cost field is returned")
+    void givenBCryptHash_whenCostOf_thenCostField() {
+        assertThat(BCryptCostCalibration.costOf("$2a$12$gfTMWrXUwBU.eVPVYbz9C.dPg9kFfRCfL8oYa1TOZg63QCD8nKi1C")).isEqualTo(12);
+        assertThat(BCryptCostCalibration.costOf("plain")).isEqualTo(-1);
+    }
+}
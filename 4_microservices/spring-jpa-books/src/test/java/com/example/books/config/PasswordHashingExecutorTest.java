@@ -0,0 +1,106 @@
+package com.example.books.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Plain unit tests (no Spring context) for the bounded password hashing pool:
+ * a stub encoder blocks on a latch, so the pool and its queue can be filled deterministically.
+ */
+@DisplayName("Test class for PasswordHashingExecutor bounds and fast rejection")
+public class PasswordHashingExecutorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+    private PasswordHashingExecutor hashingExecutor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        if (hashingExecutor != null) hashingExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Given a free pool, when verifying passwords, then the encoder result is returned and timed")
+    void givenFreePool_whenMatches_thenEncoderResultIsReturned() {
+        // Arrange
+        hashingExecutor = new PasswordHashingExecutor(new EqualsEncoder(), registry, 1, 1, Duration.ofSeconds(5), Duration.ofSeconds(2));
+
+        // Act + Assert
+        assertThat(hashingExecutor.matches("secret", "secret")).as("Right password").isTrue();
+        assertThat(hashingExecutor.matches("wrong", "secret")).as("Wrong password").isFalse();
+        assertThat(registry.get("security.password.hashing").timer().count()).as("Both hashes timed").isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Given a busy thread and a full queue, when another login arrives, then it is rejected at once")
+    void givenSaturatedPool_whenMatches_thenLoginOverloadedException() throws Exception {
+        // Arrange: 1 thread (busy with a blocked hash) + 1 queued login
+        hashingExecutor = new PasswordHashingExecutor(new BlockingEncoder(), registry, 1, 1, Duration.ofSeconds(30), Duration.ofSeconds(3));
+        callers.submit(() -> hashingExecutor.matches("a", "a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).as("First hash running").isTrue();
+        callers.submit(() -> hashingExecutor.matches("b", "b"));
+        waitUntilQueued(1);
+
+        // Act + Assert
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> hashingExecutor.matches("c", "c"))
+                .isInstanceOf(LoginOverloadedException.class)
+                .extracting(e -> ((LoginOverloadedException) e).getRetryAfter())
+                .isEqualTo(Duration.ofSeconds(3));
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).as("Rejected without waiting").isLessThan(Duration.ofSeconds(1));
+        assertThat(registry.get("security.password.hashing.rejected").tag("reason", "queue-full").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Given a hash slower than the timeout, when verifying, then the login is rejected after the timeout")
+    void givenSlowHash_whenMatches_thenRejectedAfterTimeout() {
+        // Arrange
+        hashingExecutor = new PasswordHashingExecutor(new BlockingEncoder(), registry, 1, 1, Duration.ofMillis(200), Duration.ofSeconds(2));
+
+        // Act + Assert
+        assertThatThrownBy(() -> hashingExecutor.matches("a", "a")).isInstanceOf(LoginOverloadedException.class);
+        assertThat(registry.get("security.password.hashing.rejected").tag("reason", "timeout").counter().count()).isEqualTo(1);
+    }
+
+    private void waitUntilQueued(int expected) throws InterruptedException {
+        for (int i = 0; i < 500 && registry.get("executor.queued").gauge().value() < expected; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(registry.get("executor.queued").tag("name", PasswordHashingExecutor.EXECUTOR_NAME).gauge().value())
+                .as("Queue depth metric").isEqualTo(expected);
+    }
+
+    // Helpers: "hashes" compared as plain text; the blocking one waits until the test releases it
+    private static class EqualsEncoder implements PasswordEncoder {
+        @Override public String encode(CharSequence rawPassword) {return rawPassword.toString();}
+        @Override public boolean matches(CharSequence rawPassword, String encodedPassword) {return rawPassword.toString().equals(encodedPassword);}
+    }
+
+    private class BlockingEncoder extends EqualsEncoder {
+        @Override public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.matches(rawPassword, encodedPassword);
+        }
+    }
+}
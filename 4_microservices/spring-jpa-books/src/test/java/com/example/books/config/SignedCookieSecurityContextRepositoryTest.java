@@ -0,0 +1,102 @@
+package com.example.books.config;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plain unit tests (no Spring context) for the signed login cookie of the "stateless-session" profile.
+ */
+@DisplayName("Test class for SignedCookieSecurityContextRepository - stateless login cookie")
+public class SignedCookieSecurityContextRepositoryTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T10:00:00Z");
+
+    private final byte[] secret = "0123456789abcdef0123456789abcdef".getBytes();
+
+    private SignedCookieSecurityContextRepository repository(byte[] secret, Instant now) {
+        return new SignedCookieSecurityContextRepository(secret, "BOOKS_AUTH", Duration.ofHours(1), false,
+                                                         Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    // Login: the form login saves the authenticated context, which writes the cookie
+    private String login(SignedCookieSecurityContextRepository repository, String username, String... authorities) {
+        Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(
+            username, null, AuthorityUtils.createAuthorityList(authorities));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        repository.saveContext(new SecurityContextImpl(authentication), new MockHttpServletRequest(), response);
+        String setCookie = response.getHeader(HttpHeaders.SET_COOKIE);
+        assertThat(setCookie).as("Login cookie").startsWith("BOOKS_AUTH=").contains("HttpOnly", "SameSite=Lax", "Max-Age=3600");
+        return setCookie.substring("BOOKS_AUTH=".length(), setCookie.indexOf(';'));
+    }
+
+    private SecurityContext load(SignedCookieSecurityContextRepository repository, String cookieValue) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie("BOOKS_AUTH", cookieValue));
+        return repository.loadDeferredContext(request).get();
+    }
+
+    @Test
+    @DisplayName("Given a login cookie, when another replica reads it, then the user and roles are restored")
+    void givenLoginCookie_whenLoadedByAnyReplica_thenAuthenticated() {
+        String cookie = login(repository(secret, NOW), "José", "ROLE_ADMIN");
+
+        // Another instance with the same secret (another replica), 59 minutes later
+        Authentication authentication = load(repository(secret, NOW.plus(Duration.ofMinutes(59))), cookie).getAuthentication();
+
+        assertThat(authentication).as("Restored from the cookie").isNotNull();
+        assertThat(authentication.isAuthenticated()).isTrue();
+        assertThat(authentication.getName()).as("Non-ASCII usernames survive the Base64 encoding").isEqualTo("José");
+        assertThat(AuthorityUtils.authorityListToSet(authentication.getAuthorities())).containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    @DisplayName("Given a tampered, foreign or expired cookie, when it is read, then the user is anonymous")
+    void givenInvalidCookie_whenLoaded_thenAnonymous() {
+        SignedCookieSecurityContextRepository repository = repository(secret, NOW);
+        String cookie = login(repository, "ana", "ROLE_USER");
+        String[] parts = cookie.split("\\.");
+
+        // Role changed by the client: the signature no longer matches
+        String admin = Base64.getUrlEncoder().withoutPadding().encodeToString("ROLE_ADMIN".getBytes());
+        String tampered = parts[0] + "." + admin + "." + parts[2] + "." + parts[3];
+        assertThat(load(repository, tampered).getAuthentication()).as("Tampered payload").isNull();
+
+        byte[] otherSecret = "fedcba9876543210fedcba9876543210".getBytes();
+        assertThat(load(repository(otherSecret, NOW), cookie).getAuthentication()).as("Signed with another secret").isNull();
+
+        assertThat(load(repository(secret, NOW.plus(Duration.ofHours(1))), cookie).getAuthentication()).as("Expired").isNull();
+
+        assertThat(load(repository, "garbage").getAuthentication()).as("Malformed").isNull();
+    }
+
+    @Test
+    @DisplayName("Given a login cookie, when saving an empty context (logout), then the cookie is expired")
+    void givenLoginCookie_whenSavingEmptyContext_thenCookieDeleted() {
+        SignedCookieSecurityContextRepository repository = repository(secret, NOW);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie("BOOKS_AUTH", login(repository, "ana", "ROLE_USER")));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        repository.saveContext(new SecurityContextImpl(), request, response);
+
+        assertThat(response.getHeader(HttpHeaders.SET_COOKIE)).as("Cookie removed from the browser")
+            .startsWith("BOOKS_AUTH=;").contains("Max-Age=0");
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.books.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plain unit tests (no Spring context) for the login throttle's token buckets, driven by a fake clock.
+ */
+@DisplayName("Test class for StripedTokenBuckets - login attempt rate limiting")
+public class StripedTokenBucketsTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private StripedTokenBuckets buckets(int capacity, Duration refillPeriod, int maxBuckets) {
+        return new StripedTokenBuckets(capacity, refillPeriod, maxBuckets, now::get);
+    }
+
+    @Test
+    @DisplayName("Given a full bucket, when attempts exceed the capacity, then they are refused with the wait time")
+    void givenFullBucket_whenBurstExceedsCapacity_thenRefusedUntilRefill() {
+        StripedTokenBuckets buckets = buckets(3, Duration.ofSeconds(10), 1_000);
+
+        IntStream.range(0, 3).forEach(i -> assertThat(buckets.tryConsume("ana")).as("Attempt %d within the burst", i).isZero());
+        assertThat(buckets.tryConsume("ana")).as("4th attempt: one token in 10 s").isEqualTo(Duration.ofSeconds(10));
+        assertThat(buckets.tryConsume("admin")).as("Other keys are not affected").isZero();
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertThat(buckets.tryConsume("ana")).as("One token earned").isZero();
+        assertThat(buckets.tryConsume("ana")).as("And only one").isPositive();
+    }
+
+    @Test
+    @DisplayName("Given idle buckets, when they would be full again, then they are dropped from memory")
+    void givenIdleBuckets_whenRefilled_thenExpired() {
+        StripedTokenBuckets buckets = buckets(2, Duration.ofSeconds(1), 100_000);
+        IntStream.range(0, 1_000).forEach(i -> buckets.tryConsume("user" + i));
+        assertThat(buckets.size()).isEqualTo(1_000);
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos()); // half-way: still tracked
+        buckets.tryConsume("recent");
+        assertThat(buckets.size()).isEqualTo(1_001);
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos()); // capacity x refill period: the old buckets are full again
+        assertThat(buckets.size()).as("Only the recently used bucket is kept").isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Given many distinct keys, when buckets are created, then memory stays bounded by maxBuckets")
+    void givenManyKeys_whenTryConsume_thenSizeBounded() {
+        StripedTokenBuckets buckets = buckets(5, Duration.ofMinutes(1), 6_400);
+
+        IntStream.range(0, 50_000).forEach(i -> buckets.tryConsume("10.0." + (i / 256) + "." + (i % 256)));
+
+        assertThat(buckets.size()).isLessThanOrEqualTo(6_400);
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.books.integration;
+
+import com.example.books.TestcontainersConfiguration;
+import com.example.books.config.ApiKeyAuthenticationToken;
+import com.example.books.model.Book;
+import com.example.books.service.ApiKeyService;
+import com.example.books.service.BookService;
+import com.example.books.service.RoleAuthorityRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.assertj.MockMvcTester;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Integration tests for the JSON API (BookApiController) and its ETag-based conditional GET.
+ *
+ * Not @Transactional on purpose: the catalog version is read outside the test's writes, so they
+ * must really commit. The @Sql scripts still recreate the schema for every test.
+ */
+@SpringBootTest
+@DisplayName("Test class for BookApiController endpoints - conditional GET and PUT with ETags")
+@AutoConfigureMockMvc
+@Import({ TestcontainersConfiguration.class })
+@ActiveProfiles("test")
+@Sql(scripts = "classpath:/sql/create-test-database.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "classpath:/sql/drop-test-database.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class BookApiControllerIntegrationTest {
+
+    @Autowired
+    private MockMvcTester mockMvc;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private ApiKeyService apiKeyService;
+
+    @Autowired
+    private RoleAuthorityRegistry roleAuthorityRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("GET /api/books - Should return JSON with a strong ETag, anonymously")
+    void givenBooks_whenGetApiBooks_thenJsonWithStrongETag() {
+        // Arrange
+        bookService.save(new Book(null, "Domain-Driven Design", 150));
+
+        // Act
+        var response = mockMvc.perform(get("/api/books"));
+
+        // Assert
+        assertThat(response).as("Public read-only API").hasStatusOk();
+        assertThat(response).hasContentTypeCompatibleWith("application/json");
+        assertThat(response).bodyJson().extractingPath("$.books[*].title").asArray().contains("Domain-Driven Design");
+        assertThat(response.getResponse().getHeader(HttpHeaders.ETAG)).as("Strong ETag (not W/)")
+                                                                      .startsWith("\"").endsWith("\"");
+        assertThat(response.getResponse().getHeader(HttpHeaders.CACHE_CONTROL)).contains("no-cache");
+    }
+
+    @Test
+    @DisplayName("GET /api/books with If-None-Match - Should return 304 while the catalog is unchanged")
+    void givenCurrentETag_whenGetApiBooksAgain_thenNotModified() {
+        // Arrange
+        bookService.save(new Book(null, "Refactoring", 120));
+        String etag = mockMvc.perform(get("/api/books")).getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act
+        var response = mockMvc.perform(get("/api/books").header(HttpHeaders.IF_NONE_MATCH, etag));
+
+        // Assert
+        assertThat(response).as("Unchanged catalog").hasStatus(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getResponse().getContentAsByteArray()).as("304 has no body").isEmpty();
+        assertThat(response.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+    }
+
+    @Test
+    @DisplayName("GET /api/books with a stale If-None-Match - Should return 200 and a new ETag after a write")
+    void givenWriteAfterETag_whenGetApiBooksAgain_thenFullResponseWithNewETag() {
+        // Arrange
+        Book book = bookService.save(new Book(null, "Clean Code", 100));
+        String etag = mockMvc.perform(get("/api/books")).getResponse().getHeader(HttpHeaders.ETAG);
+        bookService.updateBook(book.getId(), new Book(null, "Clean Code (2nd ed.)", 110));
+
+        // Act
+        var response = mockMvc.perform(get("/api/books").header(HttpHeaders.IF_NONE_MATCH, etag));
+
+        // Assert
+        assertThat(response).as("Catalog changed since the ETag").hasStatusOk();
+        assertThat(response.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        assertThat(response).bodyJson().extractingPath("$.books[*].title").asArray().contains("Clean Code (2nd ed.)");
+    }
+
+    @Test
+    @DisplayName("GET /api/books/{id} - Should return the book, 304 on a matching ETag and 404 for unknown ids")
+    void givenBook_whenGetApiBookById_thenJsonThenNotModified() {
+        // Arrange
+        Book book = bookService.save(new Book(null, "The Pragmatic Programmer", 130));
+
+        // Act
+        var first = mockMvc.perform(get("/api/books/{id}", book.getId()));
+        var second = mockMvc.perform(get("/api/books/{id}", book.getId())
+                                         .header(HttpHeaders.IF_NONE_MATCH, first.getResponse().getHeader(HttpHeaders.ETAG)));
+        var missing = mockMvc.perform(get("/api/books/{id}", 999_999L));
+
+        // Assert
+        assertThat(first).hasStatusOk();
+        assertThat(first).bodyJson().extractingPath("$.title").isEqualTo("The Pragmatic Programmer");
+        assertThat(second).hasStatus(HttpStatus.NOT_MODIFIED);
+        assertThat(missing).hasStatus(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    @WithMockUser(username = "pedro", password = "abc", roles = { "ADMIN" })
+    @DisplayName("PUT /api/books/{id} - Should require If-Match, refuse stale versions and update current ones or any on *")
+    void givenBook_whenPutWithIfMatch_thenOnlyTheCurrentVersionIsUpdated() {
+        // Arrange: the client read the book at version 0, then someone else updated it (version 1)
+        Book book = bookService.save(new Book(null, "Working Effectively with Legacy Code", 90));
+        String staleETag = mockMvc.perform(get("/api/books/{id}", book.getId())).getResponse().getHeader(HttpHeaders.ETAG);
+        bookService.updateBook(book.getId(), new Book(null, "Legacy Code", 95));
+        String json = """
+                {"title": "Legacy Code (2nd ed.)", "price": 99.90}
+                """;
+
+        // Act
+        var withoutIfMatch = mockMvc.perform(put("/api/books/{id}", book.getId())
+                                                 .contentType(MediaType.APPLICATION_JSON).content(json).with(csrf()));
+        var stale = mockMvc.perform(put("/api/books/{id}", book.getId()).header(HttpHeaders.IF_MATCH, staleETag)
+                                        .contentType(MediaType.APPLICATION_JSON).content(json).with(csrf()));
+        String currentETag = stale.getResponse().getHeader(HttpHeaders.ETAG);
+        var current = mockMvc.perform(put("/api/books/{id}", book.getId()).header(HttpHeaders.IF_MATCH, currentETag)
+                                          .contentType(MediaType.APPLICATION_JSON).content(json).with(csrf()));
+        var anyVersion = mockMvc.perform(put("/api/books/{id}", book.getId()).header(HttpHeaders.IF_MATCH, "*")
+                                             .contentType(MediaType.APPLICATION_JSON).content(json).with(csrf()));
+
+        // Assert
+        assertThat(withoutIfMatch).as("Blind overwrite").hasStatus(HttpStatus.PRECONDITION_REQUIRED);
+        assertThat(stale).as("Stale version").hasStatus(HttpStatus.PRECONDITION_FAILED);
+        assertThat(currentETag).as("412 carries the current version").isEqualTo("\"1\"");
+        assertThat(current).as("Current version").hasStatusOk();
+        assertThat(current.getResponse().getHeader(HttpHeaders.ETAG)).as("New version after the update").isEqualTo("\"2\"");
+        assertThat(anyVersion).as("If-Match: * (unconditional update)").hasStatusOk();
+        assertThat(anyVersion.getResponse().getHeader(HttpHeaders.ETAG)).as("Version read back after the update").isEqualTo("\"3\"");
+        assertThat(bookService.findById(book.getId())).get().extracting(Book::getTitle).isEqualTo("Legacy Code (2nd ed.)");
+    }
+
+    @Test
+    @DisplayName("PUT /api/books/{id} with X-API-Key - Should authenticate the key's user without login, session or CSRF token")
+    void givenApiKeys_whenPutWithApiKey_thenAuthorizedByTheKeysRole() {
+        // Arrange: an admin and a plain user, each with a key
+        jdbcTemplate.update("INSERT INTO tbl_role (role) VALUES ('ROLE_ADMIN'), ('ROLE_USER')");
+        roleAuthorityRegistry.reload(); // role ids of this schema, not of a previous test's
+        jdbcTemplate.update("""
+                INSERT INTO tbl_user (user_name, user_password, user_fk_role)
+                SELECT 'erp', 'x', role_id FROM tbl_role WHERE role = 'ROLE_ADMIN'
+                UNION ALL SELECT 'reports', 'x', role_id FROM tbl_role WHERE role = 'ROLE_USER'""");
+        ApiKeyService.IssuedApiKey adminKey = apiKeyService.issue("erp", "ERP sync").orElseThrow();
+        String userKey = apiKeyService.issue("reports", "BI dashboard").orElseThrow().key();
+        Book book = bookService.save(new Book(null, "Release It!", 80));
+        String json = """
+                {"title": "Release It! (2nd ed.)", "price": 85.00}
+                """;
+
+        // Act: no csrf(), no @WithMockUser
+        var admin = mockMvc.perform(put("/api/books/{id}", book.getId()).header(ApiKeyAuthenticationToken.HEADER, adminKey.key())
+                                        .header(HttpHeaders.IF_MATCH, "\"0\"").contentType(MediaType.APPLICATION_JSON).content(json));
+        var user = mockMvc.perform(put("/api/books/{id}", book.getId()).header(ApiKeyAuthenticationToken.HEADER, userKey)
+                                       .header(HttpHeaders.IF_MATCH, "\"1\"").contentType(MediaType.APPLICATION_JSON).content(json));
+        var wrongSecret = mockMvc.perform(get("/api/books").header(ApiKeyAuthenticationToken.HEADER, adminKey.prefix() + ".wrong"));
+        apiKeyService.revoke(adminKey.prefix());
+        var revoked = mockMvc.perform(get("/api/books").header(ApiKeyAuthenticationToken.HEADER, adminKey.key()));
+
+        // Assert
+        assertThat(admin).as("Admin key").hasStatusOk();
+        assertThat(admin.getResponse().getCookie("JSESSIONID")).as("No session for machine clients").isNull();
+        assertThat(user).as("A ROLE_USER key cannot update books").hasStatus(HttpStatus.FORBIDDEN);
+        assertThat(wrongSecret).as("Known prefix, wrong secret").hasStatus(HttpStatus.UNAUTHORIZED);
+        assertThat(revoked).as("Revoked key (evicted from the cache)").hasStatus(HttpStatus.UNAUTHORIZED);
+        assertThat(bookService.findById(book.getId())).get().extracting(Book::getTitle).isEqualTo("Release It! (2nd ed.)");
+    }
+}
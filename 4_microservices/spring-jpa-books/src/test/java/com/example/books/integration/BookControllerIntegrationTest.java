@@ -3,6 +3,7 @@ package com.example.books.integration;
 import com.example.books.TestcontainersConfiguration;
 import com.example.books.model.Book;
 import com.example.books.repository.BookRepository;
+import com.example.books.service.BookImportReport;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,6 +13,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
@@ -19,10 +21,12 @@ import org.springframework.test.web.servlet.assertj.MockMvcTester;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 
 /**
@@ -178,6 +182,104 @@ public class BookControllerIntegrationTest {
                 .isEqualTo(39.99D);
     }
 
+    @Test
+    @WithMockUser(username = "pedro", password = "abc", roles = { "ADMIN" }) // Simulate authenticated user
+    @DisplayName("POST /books/edit/{id} with a stale version - Should show the conflict and keep the other update")
+    void givenBookChangedSinceFormWasLoaded_whenEdit_thenConflictIsShownAndNothingIsOverwritten() {
+        // Arrange: the form was loaded at version 0, then another admin saved the book (version 1)
+        Book saved = persistBook(aBook("Old Book", 19.99));
+        saved.setTitle("Changed Meanwhile");
+        persistBook(saved);
+
+        // Act: submit the form with the version it was loaded with
+        var response = mockMvc.perform(
+                post("/books/edit/{id}", saved.getId())
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("title", "New Book")
+                        .param("price", "39.99")
+                        .param("version", "0")
+                        .with(csrf())
+        );
+
+        // Assert: the form is shown again with the current values and the current version
+        assertThat(response).as("Expected the edit form again, not a redirect.").hasStatusOk().hasViewName("edit_book");
+        assertThat(response).model().containsKey("currentBook");
+        assertThat(response).model().extractingByKey("book").extracting("version")
+                .as("Resubmitting the form must now target the current version.")
+                .isEqualTo(1L);
+
+        // Assert: the other admin's update was not overwritten
+        assertThat(bookRepository.findById(saved.getId())).get().extracting(Book::getTitle)
+                .as("Expected the concurrent update to be kept.")
+                .isEqualTo("Changed Meanwhile");
+    }
+
+    @Test
+    @WithMockUser(username = "pedro", password = "abc", roles = { "ADMIN" }) // Simulate authenticated user
+    @DisplayName("POST /books/import - Should batch-insert valid CSV rows and report rejected ones")
+    void givenAuthenticatedUserAndCsvFile_whenImport_thenValidRowsAreSavedAndInvalidRowsReported() {
+        // Arrange: header, two valid rows (one quoted title with a comma) and two invalid rows
+        String csv = """
+                title,price
+                "Guns, Germs, and Steel",19.90
+                Dom Casmurro,25.00
+                ,10.00
+                Too Expensive,5000.00
+                """;
+        var file = new MockMultipartFile("file", "books.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+
+        // Act: upload the file as a multipart form
+        var response = mockMvc.perform(multipart("/books/import").file(file).with(csrf()));
+
+        // Assert: HTTP layer — the report is rendered on the import page
+        assertThat(response)
+                .as("Expected a 200 with the import report.")
+                .hasStatus(HttpStatus.OK);
+
+        BookImportReport report = (BookImportReport) response.getMvcResult().getModelAndView().getModel().get("report");
+        assertThat(report.imported())
+                .as("Expected the two valid rows to be imported.")
+                .isEqualTo(2);
+        assertThat(report.rejections())
+                .as("Expected the blank title (line 4) and the price above the limit (line 5) to be rejected.")
+                .extracting(BookImportReport.RejectedRow::line)
+                .containsExactly(4L, 5L);
+
+        // Assert: verify the valid rows were persisted in the database
+        assertThat(bookRepository.findAll())
+                .as("Expected only the valid rows in the database.")
+                .extracting(Book::getTitle)
+                .containsExactlyInAnyOrder("Guns, Germs, and Steel", "Dom Casmurro");
+    }
+
+    @Test
+    @WithMockUser(username = "pedro", password = "abc", roles = { "ADMIN" }) // Simulate authenticated user
+    @DisplayName("GET /books/export - Should stream every book as a CSV attachment")
+    void givenAuthenticatedUserAndBooks_whenExportCsv_thenAllBooksAreWrittenAsCsv() throws Exception {
+        // Arrange: a title with a comma must be quoted in the CSV
+        Book first = persistBook(aBook("Guns, Germs, and Steel", 19.90));
+        Book second = persistBook(aBook("Dom Casmurro", 25.00));
+
+        // Act
+        var response = mockMvc.perform(get("/books/export").param("format", "csv"));
+
+        // Assert: HTTP layer — a CSV download
+        assertThat(response)
+                .as("Expected a 200 for the export.")
+                .hasStatus(HttpStatus.OK);
+        assertThat(response.getResponse().getHeader("Content-Disposition"))
+                .as("Expected the export to be downloaded as a .csv attachment.")
+                .startsWith("attachment").endsWith(".csv\"");
+
+        // Assert: header line, then one line per book in id order
+        assertThat(response.getResponse().getContentAsString(StandardCharsets.UTF_8).lines())
+                .as("Expected the header and both books, in id order.")
+                .containsExactly(
+                        "id,title,price",
+                        first.getId() + ",\"Guns, Germs, and Steel\",19.90",
+                        second.getId() + ",Dom Casmurro,25.00");
+    }
+
     // Helper methods
     private Book persistBook( Book book ){
         return bookRepository.saveAndFlush( book );
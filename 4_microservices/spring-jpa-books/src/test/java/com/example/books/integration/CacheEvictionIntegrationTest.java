@@ -0,0 +1,247 @@
+package com.example.books.integration;
+
+import com.example.books.TestcontainersConfiguration;
+import com.example.books.model.Book;
+import com.example.books.model.Role;
+import com.example.books.model.User;
+import com.example.books.service.BookBulkService;
+import com.example.books.service.BookImportService;
+import com.example.books.service.BookService;
+import com.example.books.service.CatalogVersion;
+import com.example.books.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static com.example.books.config.CacheConfig.BOOK_CACHE;
+import static com.example.books.config.CacheConfig.BOOK_PAGES_CACHE;
+import static com.example.books.config.CacheConfig.USER_CREDENTIALS_CACHE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the cache evictions of every write path, with the real Caffeine CacheManager.
+ *
+ * - spring.cache.type=caffeine: application-test.properties turns caching off for the other tests, which would
+ *   make every @Cacheable/@CacheEvict a no-op here.
+ * - Not @Transactional: evictions happen after commit (see CacheConfig), so the writes must really commit.
+ * - Each test first fills the caches through the services, then checks that the write removed the entries.
+ */
+@SpringBootTest(properties = "spring.cache.type=caffeine")
+@DisplayName("Test class for cache evictions - book, bookPages and userCredentials with a real CacheManager")
+@Import({ TestcontainersConfiguration.class })
+@ActiveProfiles("test")
+@Sql(scripts = "classpath:/sql/create-test-database.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "classpath:/sql/drop-test-database.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class CacheEvictionIntegrationTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookBulkService bookBulkService;
+
+    @Autowired
+    private BookImportService bookImportService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    // The context (and its caches) is shared by the tests, the schema is not
+    @BeforeEach
+    void clearCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    @DisplayName("Given cached book and pages, when saving the book, then both are evicted")
+    void givenCachedBookAndPages_whenSave_thenEvicted() {
+        // Arrange
+        Book book = cacheBookAndPage("Domain-Driven Design", 150);
+
+        // Act
+        book.setTitle("Domain-Driven Design (reference)");
+        bookService.save(book);
+
+        // Assert
+        assertThat(entries(BOOK_CACHE)).as("save() may overwrite an existing id").isZero();
+        assertThat(entries(BOOK_PAGES_CACHE)).as("Every listing page").isZero();
+    }
+
+    @Test
+    @DisplayName("Given cached book and pages, when updating the book (or failing on a stale version), then the book is evicted")
+    void givenCachedBookAndPages_whenUpdate_thenEvicted() {
+        // Arrange
+        Book book = cacheBookAndPage("Refactoring", 120);
+
+        // Act
+        bookService.updateBook(book.getId(), new Book(null, "Refactoring (2nd ed.)", 130));
+
+        // Assert
+        assertThat(entries(BOOK_CACHE)).isZero();
+        assertThat(entries(BOOK_PAGES_CACHE)).isZero();
+
+        // Act: a stale version throws, and the conflict paths re-read the book through findById
+        bookService.findById(book.getId());
+        Book stale = new Book(null, "Refactoring (stale)", 99);
+        stale.setVersion(0);
+        assertThatThrownBy(() -> bookService.updateBook(book.getId(), stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        // Assert
+        assertThat(isBookCached(book.getId())).as("Evicted although the update threw").isFalse();
+        assertThat(bookService.findById(book.getId())).get().extracting(Book::getVersion).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Given cached book and pages, when deleting the book, then both are evicted")
+    void givenCachedBookAndPages_whenDelete_thenEvicted() {
+        // Arrange
+        Book book = cacheBookAndPage("Clean Code", 100);
+
+        // Act
+        bookService.deleteById(book.getId());
+
+        // Assert
+        assertThat(entries(BOOK_CACHE)).isZero();
+        assertThat(entries(BOOK_PAGES_CACHE)).isZero();
+        assertThat(bookService.findById(book.getId())).as("No stale hit after the delete").isEmpty();
+    }
+
+    @Test
+    @DisplayName("Given cached books and pages, when running bulk deletes and repricing, then both are evicted")
+    void givenCachedBooksAndPages_whenBulkOperations_thenEvicted() {
+        // Arrange
+        Book deleted = cacheBookAndPage("Patterns of Enterprise Application Architecture", 140);
+        Book repriced = cacheBookAndPage("Release It!", 80);
+
+        // Act
+        bookBulkService.deleteAll(List.of(deleted.getId()));
+
+        // Assert
+        assertThat(entries(BOOK_CACHE)).as("Deleted book").isZero();
+        assertThat(entries(BOOK_PAGES_CACHE)).isZero();
+
+        // Arrange
+        bookService.findPage(null, null, null, 20);
+
+        // Act
+        bookBulkService.adjustPrices(BigDecimal.TEN, BigDecimal.ZERO, BigDecimal.valueOf(1000));
+
+        // Assert
+        assertThat(entries(BOOK_CACHE)).as("The repriced books are not known: all cleared").isZero();
+        assertThat(entries(BOOK_PAGES_CACHE)).isZero();
+        assertThat(bookService.findById(repriced.getId())).get().extracting(Book::getPrice)
+                                                          .isEqualTo(new BigDecimal("88.00"));
+    }
+
+    @Test
+    @DisplayName("Given a reader that re-caches the old book after the write's eviction, when reading the book, then it is not hit")
+    void givenOldBookCachedAfterEviction_whenFindById_thenNotHit() {
+        // Arrange: the reader missed under the version it read before the write, and puts the old row after the commit
+        Book book = cacheBookAndPage("Designing Data-Intensive Applications", 160);
+        long versionBeforeWrite = catalogVersion.current();
+        Book old = bookService.findById(book.getId()).orElseThrow();
+        bookService.updateBook(book.getId(), new Book(null, "Designing Data-Intensive Applications (2nd ed.)", 170));
+        cacheManager.getCache(BOOK_CACHE).put(List.of(versionBeforeWrite, book.getId()), old);
+
+        // Act
+        Book read = bookService.findById(book.getId()).orElseThrow();
+
+        // Assert
+        assertThat(catalogVersion.current()).as("The write moved the catalog version").isGreaterThan(versionBeforeWrite);
+        assertThat(read.getTitle()).isEqualTo("Designing Data-Intensive Applications (2nd ed.)");
+        assertThat(read.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Given cached pages, when importing a CSV file, then the pages are evicted")
+    void givenCachedPages_whenImport_thenEvicted() throws IOException {
+        // Arrange
+        cacheBookAndPage("Working Effectively with Legacy Code", 90);
+        String csv = """
+                title,price
+                Accelerate,45.00
+                """;
+
+        // Act
+        bookImportService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertThat(entries(BOOK_PAGES_CACHE)).isZero();
+        assertThat(bookService.findPage(null, null, null, 20).books()).as("Imported book listed")
+                                                                    .extracting("title").contains("Accelerate");
+    }
+
+    @Test
+    @DisplayName("Given cached credentials, when a user is saved or re-hashed, then the credentials cache is cleared")
+    void givenCachedCredentials_whenUserWrite_thenEvicted() {
+        // Arrange
+        User ana = new User("ana", "{noop}abc");
+        ana.setRole(new Role("ROLE_USER"));
+        ana = userService.save(ana);
+        assertThat(userService.findCredentials("ana")).isPresent();
+        assertThat(isCached(USER_CREDENTIALS_CACHE, "ana")).as("Precondition: login lookup cached").isTrue();
+
+        // Act
+        User pedro = new User("pedro", "{noop}abc");
+        pedro.setRole(new Role("ROLE_ADMIN")); // User.role is a one-to-one: one role row per user
+        userService.save(pedro);
+
+        // Assert
+        assertThat(entries(USER_CREDENTIALS_CACHE)).as("Any user write").isZero();
+
+        // Arrange
+        userService.findCredentials("ana");
+
+        // Act
+        userService.updatePasswordHash(ana.getId(), "{noop}abc", "{noop}new");
+
+        // Assert
+        assertThat(entries(USER_CREDENTIALS_CACHE)).as("Re-hash on login").isZero();
+        assertThat(userService.findCredentials("ana")).get().extracting("passwordHash").isEqualTo("{noop}new");
+    }
+
+    // Helper: saves a book and caches it and the first listing page, like a read after an earlier write
+    private Book cacheBookAndPage(String title, double price) {
+        Book book = bookService.save(new Book(null, title, price));
+        bookService.findById(book.getId());
+        bookService.findPage(null, null, null, 20);
+        assertThat(isBookCached(book.getId())).as("Precondition: book cached").isTrue();
+        assertThat(entries(BOOK_PAGES_CACHE)).as("Precondition: page cached").isPositive();
+        return book;
+    }
+
+    // "book" entries are keyed by the catalog version and the id (see BookService.findById)
+    private boolean isBookCached(Long id) {
+        return isCached(BOOK_CACHE, List.of(catalogVersion.current(), id));
+    }
+
+    private boolean isCached(String cacheName, Object key) {
+        return cacheManager.getCache(cacheName).get(key) != null;
+    }
+
+    private long entries(String cacheName) {
+        return ((CaffeineCache) cacheManager.getCache(cacheName)).getNativeCache().asMap().size();
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.books.integration;
+
+import com.example.books.SpringJdbcBooksApplication;
+import com.example.books.TestcontainersConfiguration;
+import com.example.books.config.JdbcSessionCleanup;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the "jdbc-session" profile: two instances of the application (two "replicas")
+ * share one MySQL container, and a session created by one of them is used by the other.
+ *
+ * Flyway creates the schema (V1..V9, including the Spring Session tables), exactly as in production.
+ * Real HTTP requests (no MockMvc): the session must travel in the JSESSIONID cookie, like behind a load balancer.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+                properties = { "spring.flyway.enabled=true", "books.session.cleanup.batch-size=2" })
+@DisplayName("Test class for the JDBC session store - session continuity across two application instances")
+@Import({ TestcontainersConfiguration.class })
+@ActiveProfiles({ "test", "jdbc-session" })
+public class JdbcSessionReplicasIntegrationTest {
+
+    private static final Pattern CSRF_FIELD = Pattern.compile("name=\"_csrf\" value=\"([^\"]+)\"");
+    private static final Pattern SESSION_COOKIE = Pattern.compile("JSESSIONID=([^;]*)");
+
+    @LocalServerPort
+    private int replicaAPort;
+
+    @Autowired
+    private JdbcConnectionDetails database;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcSessionCleanup jdbcSessionCleanup;
+
+    private final HttpClient http = HttpClient.newHttpClient(); // does not follow redirects
+
+    private ConfigurableApplicationContext replicaB;
+
+    private int replicaBPort;
+
+    @BeforeEach
+    void startSecondReplica() {
+        // Same application, same database, another port: what a second container behind the load balancer would be
+        // (command-line arguments: builder properties() would be overridden by application.properties)
+        replicaB = new SpringApplicationBuilder(SpringJdbcBooksApplication.class)
+            .profiles("test", "jdbc-session")
+            .run("--server.port=0",
+                 "--spring.flyway.enabled=true",
+                 "--spring.datasource.url=" + database.getJdbcUrl(),
+                 "--spring.datasource.username=" + database.getUsername(),
+                 "--spring.datasource.password=" + database.getPassword());
+        replicaBPort = ((ServletWebServerApplicationContext) replicaB).getWebServer().getPort();
+    }
+
+    @AfterEach
+    void stopSecondReplica() {
+        replicaB.close();
+    }
+
+    @Test
+    @DisplayName("Given a login on replica A, when replica B gets the session cookie, then the user is logged in on B")
+    void givenLoginOnReplicaA_whenRequestOnReplicaB_thenSameSession() throws Exception {
+        // Arrange: an admin (V2 migration roles) with a known password
+        jdbcTemplate.update("""
+            INSERT INTO tbl_user (user_name, user_password, user_fk_role)
+            SELECT ?, ?, role_id FROM tbl_role WHERE role = 'ROLE_ADMIN'""", "maria", passwordEncoder.encode("secret"));
+
+        // Act: log in on replica A (the login page creates the session and its CSRF token)
+        HttpResponse<String> loginPage = send(replicaAPort, "GET", "/login", null, Map.of());
+        String session = sessionCookie(loginPage, null);
+        HttpResponse<String> login = send(replicaAPort, "POST", "/login", session,
+                                          Map.of("username", "maria", "password", "secret", "_csrf", csrfToken(loginPage)));
+        session = sessionCookie(login, session); // new session id after login (session fixation protection)
+
+        // Assert: replica B knows the login made on A
+        assertThat(login.statusCode()).as("Successful login redirects").isEqualTo(302);
+        assertThat(login.headers().firstValue(HttpHeaders.LOCATION)).get().asString().endsWith("/books");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM SPRING_SESSION WHERE PRINCIPAL_NAME = 'maria'", Integer.class))
+            .as("Session stored in MySQL, not in replica A's memory")
+            .isEqualTo(1);
+
+        HttpResponse<String> adminPageOnB = send(replicaBPort, "GET", "/books/add", session, Map.of());
+        assertThat(adminPageOnB.statusCode()).as("ADMIN page on replica B with the session of replica A").isEqualTo(200);
+
+        // Act: log out on replica B
+        HttpResponse<String> logout = send(replicaBPort, "POST", "/logout", session, Map.of("_csrf", csrfToken(adminPageOnB)));
+
+        // Assert: the session is gone for replica A too
+        assertThat(logout.statusCode()).isEqualTo(302);
+        HttpResponse<String> adminPageOnA = send(replicaAPort, "GET", "/books/add", session, Map.of());
+        assertThat(adminPageOnA.statusCode()).as("Logged out on B means logged out on A").isEqualTo(302);
+        assertThat(adminPageOnA.headers().firstValue(HttpHeaders.LOCATION)).get().asString().endsWith("/login");
+    }
+
+    @Test
+    @DisplayName("Given expired and live sessions, when the cleanup runs, then only expired ones are deleted, in batches")
+    void givenExpiredSessions_whenCleanup_thenDeletedInBatches() {
+        // Arrange: 5 expired sessions (2 batches of 2 and 1 more) and 1 live session
+        jdbcTemplate.update("DELETE FROM SPRING_SESSION"); // the container is shared by both tests
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 5; i++) {
+            insertSession(now - 60_000);
+        }
+        String live = insertSession(now + 1_800_000);
+
+        // Act
+        int deleted = jdbcSessionCleanup.deleteExpiredSessions();
+
+        // Assert
+        assertThat(deleted).as("Every expired session, over several batches of 2").isEqualTo(5);
+        assertThat(jdbcTemplate.queryForList("SELECT PRIMARY_ID FROM SPRING_SESSION", String.class))
+            .as("The live session is kept")
+            .containsExactly(live);
+    }
+
+    private String insertSession(long expiryTime) {
+        String id = UUID.randomUUID().toString();
+        jdbcTemplate.update("""
+            INSERT INTO SPRING_SESSION (PRIMARY_ID, SESSION_ID, CREATION_TIME, LAST_ACCESS_TIME, MAX_INACTIVE_INTERVAL, EXPIRY_TIME)
+            VALUES (?, ?, ?, ?, 1800, ?)""", id, UUID.randomUUID().toString(), expiryTime - 1_800_000, expiryTime - 1_800_000, expiryTime);
+        return id;
+    }
+
+    private HttpResponse<String> send(int port, String method, String path, String session, Map<String, String> form)
+        throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (session != null) {
+            request.header(HttpHeaders.COOKIE, "JSESSIONID=" + session);
+        }
+        if ("POST".equals(method)) {
+            String body = form.entrySet().stream()
+                              .map(e -> e.getKey() + "=" + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                              .collect(Collectors.joining("&"));
+            request.header(HttpHeaders.CONTENT_TYPE, "application/x-www-form-urlencoded")
+                   .POST(HttpRequest.BodyPublishers.ofString(body));
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    // The JSESSIONID set by this response, or the current one when the response did not set it
+    private static String sessionCookie(HttpResponse<?> response, String current) {
+        return response.headers().allValues(HttpHeaders.SET_COOKIE).stream()
+                       .map(SESSION_COOKIE::matcher)
+                       .filter(Matcher::find)
+                       .map(matcher -> matcher.group(1))
+                       .findFirst()
+                       .orElse(current);
+    }
+
+    private static String csrfToken(HttpResponse<String> page) {
+        Matcher matcher = CSRF_FIELD.matcher(page.body());
+        assertThat(matcher.find()).as("Page should contain a form with a CSRF token").isTrue();
+        return matcher.group(1);
+    }
+}
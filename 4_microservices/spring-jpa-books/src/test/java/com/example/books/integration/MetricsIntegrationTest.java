@@ -0,0 +1,73 @@
+package com.example.books.integration;
+
+import com.example.books.TestcontainersConfiguration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.assertj.MockMvcTester;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestBuilders.formLogin;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Integration tests for the Prometheus endpoint and the application's own metrics.
+ *
+ * - @AutoConfigureObservability: Spring Boot tests only get an in-memory registry by default; this turns the
+ *   Prometheus registry (and /actuator/prometheus) on, as in production.
+ */
+@SpringBootTest
+@DisplayName("Test class for /actuator/prometheus - service, HTTP, connection pool and login metrics")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@Import({ TestcontainersConfiguration.class })
+@ActiveProfiles("test")
+@Sql(scripts = "classpath:/sql/create-test-database.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "classpath:/sql/drop-test-database.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvcTester mockMvc;
+
+    @Test
+    @WithMockUser(username = "pedro", password = "abc", roles = { "ADMIN" }) // Simulate authenticated user
+    @DisplayName("GET /actuator/prometheus - Should expose histograms of BookService, handlers and logins, and HikariCP gauges")
+    void givenTraffic_whenScrapingPrometheus_thenApplicationMetricsAreExposed() throws Exception {
+        // Arrange: one listing (BookController -> BookService) and one failed login (unknown user)
+        assertThat(mockMvc.perform(get("/books"))).hasStatusOk();
+        mockMvc.perform(formLogin("/login").user("nobody").password("wrong"));
+
+        // Act
+        var response = mockMvc.perform(get("/actuator/prometheus"));
+
+        // Assert
+        assertThat(response).as("Prometheus text format").hasStatusOk();
+        String metrics = response.getResponse().getContentAsString();
+        assertThat(metrics)
+                .as("@Timed BookService methods, with histogram buckets")
+                .contains("books_service_seconds_bucket{", "method=\"findPage\"");
+        assertThat(metrics)
+                .as("Controller handlers, by URI, with histogram buckets")
+                .contains("http_server_requests_seconds_bucket{", "uri=\"/books\"");
+        assertThat(metrics)
+                .as("HikariCP pool metrics, tagged with spring.datasource.hikari.pool-name")
+                .contains("hikaricp_connections_active{pool=\"books\"}");
+        assertThat(metrics)
+                .as("Failed login counted by MyUsernamePwdAuthenticationProvider")
+                .contains("security_authentication_seconds_count{reason=\"bad-credentials\",result=\"failure\"}");
+    }
+
+    @Test
+    @WithMockUser(username = "ana", password = "abc", roles = { "USER" }) // Simulate authenticated user
+    @DisplayName("GET /actuator/prometheus - Should be forbidden for non-admin users")
+    void givenNonAdminUser_whenScrapingPrometheus_thenForbidden() {
+        assertThat(mockMvc.perform(get("/actuator/prometheus"))).hasStatus(403);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.books.integration;
+
+import com.example.books.TestcontainersConfiguration;
+import com.example.books.dto.TitleSuggestion;
+import com.example.books.model.Book;
+import com.example.books.service.BookService;
+import com.example.books.service.TitleSuggestionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the title suggestion index against writes it receives no event for (another replica).
+ *
+ * - "Another replica" writes tbl_book and increments tbl_catalog_version with plain SQL, like its BookService would.
+ * - books.catalog.version-max-age=0: the version is read on every check, no waiting for the memoized value.
+ * - books.suggest.sync-interval=1h: the scheduled check never runs by itself, the tests call it.
+ */
+@SpringBootTest(properties = { "books.catalog.version-max-age=0", "books.suggest.sync-interval=1h" })
+@DisplayName("Test class for TitleSuggestionService - index converging with writes of other replicas")
+@Import({ TestcontainersConfiguration.class })
+@ActiveProfiles("test")
+@Sql(scripts = "classpath:/sql/create-test-database.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "classpath:/sql/drop-test-database.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class TitleSuggestionSyncIntegrationTest {
+
+    @Autowired
+    private TitleSuggestionService titleSuggestionService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Given books added, renamed and deleted by another replica, when the catalog is synced, then suggestions follow")
+    void givenWritesOfAnotherReplica_whenSyncWithCatalog_thenIndexConverges() {
+        // Arrange
+        Book local = bookService.save(new Book(null, "Memórias Póstumas de Brás Cubas", 40));
+        titleSuggestionService.rebuild();
+        assertThat(titleSuggestionService.suggest("memorias", 10)).as("Precondition: indexed").hasSize(1);
+
+        // Act: another replica adds a book
+        jdbcTemplate.update("INSERT INTO tbl_book (book_title, book_price, book_version) VALUES ('Dom Casmurro', 35, 0)");
+        bumpCatalogVersion();
+        titleSuggestionService.syncWithCatalog();
+
+        // Assert
+        assertThat(titleSuggestionService.suggest("casmurro", 10)).extracting(TitleSuggestion::title)
+                                                                  .containsExactly("Dom Casmurro");
+
+        // Act: another replica renames the local book and deletes its own
+        jdbcTemplate.update("UPDATE tbl_book SET book_title = 'Quincas Borba' WHERE book_id = ?", local.getId());
+        jdbcTemplate.update("DELETE FROM tbl_book WHERE book_title = 'Dom Casmurro'");
+        bumpCatalogVersion();
+        titleSuggestionService.syncWithCatalog();
+
+        // Assert
+        assertThat(titleSuggestionService.suggest("memorias", 10)).as("Old title").isEmpty();
+        assertThat(titleSuggestionService.suggest("quincas", 10)).as("New title")
+                                                                 .containsExactly(new TitleSuggestion(local.getId(), "Quincas Borba"));
+        assertThat(titleSuggestionService.suggest("casmurro", 10)).as("Deleted book").isEmpty();
+    }
+
+    @Test
+    @DisplayName("Given a book written on this replica, when it is changed, then it is suggested without any sync")
+    void givenLocalWrites_whenBookChanged_thenIndexUpdatedAtOnce() {
+        // Arrange
+        titleSuggestionService.rebuild();
+
+        // Act
+        Book book = bookService.save(new Book(null, "Coração das Trevas", 30));
+
+        // Assert
+        assertThat(titleSuggestionService.suggest("coracao", 10)).as("Applied from the BookChangedEvent")
+                                                                 .containsExactly(new TitleSuggestion(book.getId(), "Coração das Trevas"));
+
+        // Act
+        bookService.deleteById(book.getId());
+
+        // Assert
+        assertThat(titleSuggestionService.suggest("coracao", 10)).isEmpty();
+    }
+
+    // What BookService does in the write's transaction on the other replica
+    private void bumpCatalogVersion() {
+        jdbcTemplate.update("UPDATE tbl_catalog_version SET catalog_version = catalog_version + 1 WHERE catalog_id = 1");
+    }
+}
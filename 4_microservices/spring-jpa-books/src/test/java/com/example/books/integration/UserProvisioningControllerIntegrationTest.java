@@ -0,0 +1,116 @@
+package com.example.books.integration;
+
+import com.example.books.TestcontainersConfiguration;
+import com.example.books.service.RoleAuthorityRegistry;
+import com.example.books.service.UserProvisioningReport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.assertj.MockMvcTester;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+
+/**
+ * Integration tests for the bulk user provisioning page (/users/import), against the MySQL Testcontainer.
+ *
+ * Not @Transactional: the service commits one transaction per chunk (and falls back to auto-commit inserts),
+ * so the drop script after each test is what cleans up.
+ */
+@SpringBootTest
+@DisplayName("Test class for UserProvisioningController - bulk user creation from CSV")
+@AutoConfigureMockMvc
+@Import({ TestcontainersConfiguration.class }) // Wires in the MySQL Testcontainer as a datasource
+@ActiveProfiles("test")
+@Sql(scripts = "classpath:/sql/create-test-database.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD) // Prepare schema/data
+@Sql(scripts = "classpath:/sql/drop-test-database.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)  // Clean up schema/data
+public class UserProvisioningControllerIntegrationTest {
+
+    @Autowired
+    private MockMvcTester mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private RoleAuthorityRegistry roleAuthorityRegistry;
+
+    @Test
+    @WithMockUser(username = "pedro", password = "abc", roles = { "ADMIN" }) // Simulate authenticated user
+    @DisplayName("POST /users/import - Should create valid users with hashed passwords and report rejected rows")
+    void givenAdminAndCsvFile_whenImportUsers_thenValidUsersCreatedAndInvalidRowsReported() {
+        // Arrange: the roles (the test schema has none) and an existing user
+        jdbcTemplate.update("INSERT INTO tbl_role (role) VALUES ('ROLE_ADMIN'), ('ROLE_USER')");
+        roleAuthorityRegistry.reload(); // role ids of this schema, not of a previous test's
+        jdbcTemplate.update("INSERT INTO tbl_user (user_name, user_password, user_fk_role) SELECT 'ana', 'x', role_id FROM tbl_role WHERE role = 'ROLE_USER'");
+        String csv = """
+                name,password,role
+                maria,s3cret,USER
+                joao,with,comma,ROLE_ADMIN
+                Ana,other,USER
+                carla,pwd,TEACHER
+                MARIA,again,USER
+                ,pwd,USER
+                """;
+        var file = new MockMultipartFile("file", "users.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        var response = mockMvc.perform(multipart("/users/import").file(file).with(csrf()));
+
+        // Assert: HTTP layer — the report is rendered on the import page
+        assertThat(response)
+                .as("Expected a 200 with the provisioning report.")
+                .hasStatus(HttpStatus.OK);
+
+        UserProvisioningReport report = (UserProvisioningReport) response.getMvcResult().getModelAndView().getModel().get("report");
+        assertThat(report.created())
+                .as("Expected maria and joao to be created.")
+                .isEqualTo(2);
+        assertThat(report.rejections())
+                .as("Expected the existing name (line 4), the unknown role (line 5), the repeated name (line 6) and the blank name (line 7).")
+                .extracting(UserProvisioningReport.RejectedRow::line)
+                .containsExactlyInAnyOrder(4L, 5L, 6L, 7L);
+
+        // Assert: stored with their role and a password hash that matches (the comma belongs to joao's password)
+        List<Map<String, Object>> users = jdbcTemplate.queryForList("""
+                SELECT u.user_name, u.user_password, r.role FROM tbl_user u JOIN tbl_role r ON r.role_id = u.user_fk_role
+                WHERE u.user_name <> 'ana' ORDER BY u.user_name""");
+        assertThat(users).extracting(user -> user.get("user_name") + ":" + user.get("role"))
+                .as("Expected only the valid rows in the database, with the role of the file.")
+                .containsExactly("joao:ROLE_ADMIN", "maria:ROLE_USER");
+        assertThat(passwordEncoder.matches("with,comma", (String) users.get(0).get("user_password")))
+                .as("Expected a hash of the password, not the password.")
+                .isTrue();
+    }
+
+    @Test
+    @WithMockUser(username = "ana", password = "abc", roles = { "USER" }) // Simulate authenticated user
+    @DisplayName("POST /users/import - Should be forbidden for non-admin users")
+    void givenNonAdminUser_whenImportUsers_thenForbidden() {
+        var file = new MockMultipartFile("file", "users.csv", "text/csv", "maria,s3cret,ADMIN".getBytes(StandardCharsets.UTF_8));
+
+        var response = mockMvc.perform(multipart("/users/import").file(file).with(csrf()));
+
+        assertThat(response)
+                .as("Expected 403: only admins create users.")
+                .hasStatus(HttpStatus.FORBIDDEN);
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.books.repository;
 
 import com.example.books.TestcontainersConfiguration;
+import com.example.books.dto.BookSummary;
 import com.example.books.model.Book;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,8 +10,16 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -196,6 +205,137 @@ public class BookRepositoryUsingSpringTestContainersSupportTest {
                 .isEmpty();
     }
 
+    @Test
+    @DisplayName("Given more books than a page, when scrolling by keyset, then pages follow the sort without overlap")
+    void givenSetOfBooks_whenScrollingByKeyset_thenReturnConsecutivePages() {
+        // Arrange
+        persistBook("Book C", 30.00);
+        persistBook("Book A", 10.00);
+        persistBook("Book B", 20.00);
+        entityManager.clear(); // evict cache so the scroll queries hit the database
+
+        Sort byTitle = Sort.by("title", "id");
+
+        // Act
+        Window<Book> firstPage = bookRepository.findAllBy(ScrollPosition.keyset(), byTitle, Limit.of(2));
+        Window<Book> secondPage = bookRepository.findAllBy(firstPage.positionAt(1), byTitle, Limit.of(2));
+
+        // Assert
+        assertThat(firstPage.getContent())
+                .as("First keyset page should hold the first two titles in order")
+                .extracting(Book::getTitle)
+                .containsExactly("Book A", "Book B");
+        assertThat(firstPage.hasNext())
+                .as("First keyset page should report that more books follow")
+                .isTrue();
+        assertThat(secondPage.getContent())
+                .as("Second keyset page should continue right after the last seen title")
+                .extracting(Book::getTitle)
+                .containsExactly("Book C");
+        assertThat(secondPage.hasNext())
+                .as("Last keyset page should report no more books")
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("Given books, when scrolling summaries by keyset, then only id, title and price are returned in price order")
+    void givenSetOfBooks_whenScrollingSummariesByKeyset_thenReturnProjectedRows() {
+        // Arrange
+        Book expensive = entityManager.persistAndFlush(aBook("Expensive Book", 99.90));
+        Book cheap = entityManager.persistAndFlush(aBook("Cheap Book", 5.50));
+        entityManager.clear();
+
+        // Act
+        Window<BookSummary> page = bookRepository.findSummariesBy(ScrollPosition.keyset(), Sort.by("price", "id"), Limit.of(10));
+
+        // Assert
+        assertThat(page.getContent())
+                .as("Summaries should carry the listing columns, sorted by price")
+                .containsExactly(
+                        new BookSummary(cheap.getId(), "Cheap Book", new BigDecimal("5.50")),
+                        new BookSummary(expensive.getId(), "Expensive Book", new BigDecimal("99.90")));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // InnoDB adds rows to a FULLTEXT index only on COMMIT
+    @DisplayName("Given committed books, when searching titles in boolean mode, then return only books matching every term")
+    void givenCommittedBooks_whenSearchByTitle_thenReturnMatchingBooks() {
+        // Arrange: saveAll() commits in its own transaction (no test transaction to roll back here;
+        // the AFTER_TEST_METHOD drop script cleans up)
+        bookRepository.saveAll(List.of(
+                aBook("The Lord of the Rings", 59.90),
+                aBook("The Lord of the Flies", 29.90),
+                aBook("Clean Code", 45.00)));
+
+        // Act
+        Page<BookSummary> lordRings = bookRepository.searchByTitle("+lord* +ring*", PageRequest.of(0, 10));
+        Page<BookSummary> lord = bookRepository.searchByTitle("+lord*", PageRequest.of(0, 1));
+
+        // Assert
+        assertThat(lordRings.getContent())
+                .as("Only the title containing both terms should match")
+                .extracting(BookSummary::title)
+                .containsExactly("The Lord of the Rings");
+        assertThat(lord.getTotalElements())
+                .as("Count query should report every match, not just the requested page")
+                .isEqualTo(2);
+        assertThat(lord.getContent())
+                .as("Page size should be applied to the native query")
+                .hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Given books in an id range, when adjusting prices in bulk, then matching prices change except those that would reach the limit")
+    void givenBooks_whenAdjustPrices_thenSingleUpdateRespectsFilterAndPriceLimit() {
+        // Arrange
+        Book cheap = entityManager.persistAndFlush(aBook("Cheap Book", 10.00));
+        Book nearLimit = entityManager.persistAndFlush(aBook("Near Limit Book", 2900.00));
+        Book outOfFilter = entityManager.persistAndFlush(aBook("Out Of Filter Book", 500.00));
+        entityManager.clear();
+
+        // Act: +12.5% over two price filters (0..400 and 2000..3000); the book priced 500 is in neither
+        int lowRange = bookRepository.adjustPrices(cheap.getId(), outOfFilter.getId(),
+                new BigDecimal("0"), new BigDecimal("400"), new BigDecimal("1.125"), new BigDecimal("3000"));
+        int highRange = bookRepository.adjustPrices(cheap.getId(), outOfFilter.getId(),
+                new BigDecimal("2000"), new BigDecimal("3000"), new BigDecimal("1.125"), new BigDecimal("3000"));
+
+        // Assert
+        assertThat(lowRange)
+                .as("Only the book priced within the filter should be updated")
+                .isEqualTo(1);
+        assertThat(highRange)
+                .as("A book whose new price would reach the limit should be skipped")
+                .isZero();
+        assertThat(bookRepository.findById(cheap.getId()).orElseThrow().getPrice())
+                .as("The factor must keep its decimals: 10.00 * 1.125 = 11.25")
+                .isEqualByComparingTo("11.25");
+        assertThat(bookRepository.findById(nearLimit.getId()).orElseThrow().getPrice())
+                .isEqualByComparingTo("2900.00");
+        assertThat(bookRepository.findById(outOfFilter.getId()).orElseThrow().getPrice())
+                .isEqualByComparingTo("500.00");
+    }
+
+    @Test
+    @DisplayName("Given books, when deleting a list of ids in bulk, then only those books are removed")
+    void givenBooks_whenDeleteByIds_thenListedBooksAreRemoved() {
+        // Arrange
+        Book first = entityManager.persistAndFlush(aBook("First", 10.00));
+        Book second = entityManager.persistAndFlush(aBook("Second", 20.00));
+        Book kept = entityManager.persistAndFlush(aBook("Kept", 30.00));
+
+        // Act: an unknown id is ignored
+        int deleted = bookRepository.deleteByIds(List.of(first.getId(), second.getId(), -1L));
+
+        // Assert
+        assertThat(deleted)
+                .as("Affected rows should count only existing books")
+                .isEqualTo(2);
+        assertThat(findAllBooks())
+                .as("Only the book not listed should remain")
+                .extracting(Book::getId)
+                .containsExactly(kept.getId());
+    }
+
     // --- Helpers ---
 
     /**
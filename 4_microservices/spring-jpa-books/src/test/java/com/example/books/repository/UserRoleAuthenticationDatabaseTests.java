@@ -2,26 +2,32 @@ package com.example.books.repository;
 
 import com.example.books.TestcontainersConfiguration;
 import com.example.books.config.PasswordEncoderConfig;
+import com.example.books.dto.UserCredentials;
 import com.example.books.model.Role;
 import com.example.books.model.User;
+import com.example.books.service.UserAlreadyExistsException;
+import com.example.books.service.UserService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 // @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE) // Use real database (Testcontainers)
 @DisplayName( "Test class User/Role Repository with Authentication using a sliced @DataJpaTest" )
 @DataJpaTest // Enables Spring Data JPA testing (rolls back transactions after each test)
-@Import({PasswordEncoderConfig.class, TestcontainersConfiguration.class})
+@Import({PasswordEncoderConfig.class, TestcontainersConfiguration.class, UserService.class})
 @ActiveProfiles("test") // Activate the "test" profile, $mvn clean test -Dspring.profiles.active=test
 @Sql(scripts = "classpath:/sql/create-test-database.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
 @Sql(scripts = "classpath:/sql/drop-test-database.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
@@ -33,6 +39,12 @@ public class UserRoleAuthenticationDatabaseTests {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     @DisplayName("Given user with role, when fetching from db, then success")
     void givenUserWithRole_whenFetchingFromDb_thenSuccess() {
@@ -92,4 +104,91 @@ public class UserRoleAuthenticationDatabaseTests {
             .as("Stored hashed password should match the original password")
             .isTrue();
     }
+
+    @Test
+    @DisplayName("Given a verified hash, when re-hashing it, then it is replaced only if it did not change meanwhile")
+    void givenVerifiedHash_whenUpdatePasswordHash_thenCompareAndSet() {
+        // Given: a user whose stored hash was just verified at login
+        String oldHash = passwordEncoder.encode("12345");
+        User user = new User("David", oldHash);
+        user.setRole(new Role("student"));
+        Long id = userRepository.saveAndFlush(user).getId();
+        String newHash = passwordEncoder.encode("12345");
+
+        // When: re-hash once with the verified hash, then again with a stale one
+        int updated = userRepository.updatePasswordHash(id, oldHash, newHash);
+        int stale = userRepository.updatePasswordHash(id, oldHash, "{bcrypt}never-written");
+
+        // Then: only the first update applies
+        assertThat(updated).as("Verified hash replaced").isEqualTo(1);
+        assertThat(stale).as("Hash changed since it was verified").isZero();
+        assertThat(userRepository.findById(id)).get().extracting(User::getPassword).isEqualTo(newHash);
+    }
+
+    @Test
+    @DisplayName("Given user with role, when fetching the login credentials, then id, hash and role id are returned")
+    void givenUserWithRole_whenFindCredentialsByName_thenCredentialsReturned() {
+        // Given: Save a user with a role
+        User user = new User("David", "{bcrypt}hash");
+        user.setRole(new Role("student"));
+        userRepository.saveAndFlush(user);
+
+        // When: Fetch the credentials used by the login
+        Optional<UserCredentials> credentials = userRepository.findCredentialsByName("David");
+
+        // Then: Verify the projected columns
+        assertThat(credentials)
+            .as("Credentials of 'David' should exist but they don't")
+            .contains(new UserCredentials(user.getId(), "David", "{bcrypt}hash", user.getRole().getId()));
+
+        assertThat(userRepository.findCredentialsByName("Nobody"))
+            .as("Unknown user should have no credentials")
+            .isEmpty();
+    }
+
+    @Test
+    @DisplayName("Given the UNIQ_USERNAME index, when explaining the login lookup, then MySQL reads one row through the index")
+    void givenUserNameIndex_whenExplainingLookupByName_thenIndexIsUsed() {
+        // Given: a few users (a lookup of a missing name is "no matching row in const table", without a key)
+        Role student = new Role("student");
+        for (String name : new String[]{"David", "Ana", "Bruno"}) {
+            User user = new User(name, "{bcrypt}hash");
+            user.setRole(student);
+            userRepository.save(user);
+        }
+        userRepository.flush();
+
+        // When: EXPLAIN the WHERE clause of findCredentialsByName/findUserWithRoleByName
+        Map<String, Object> plan = jdbcTemplate.queryForMap(
+            "EXPLAIN SELECT user_id, user_password, user_fk_role FROM tbl_user WHERE user_name = ?", "David");
+
+        // Then: a single-row unique index lookup instead of a full table scan (type ALL)
+        assertThat(plan.get("key"))
+            .as("Lookup by name should use the UNIQ_USERNAME index")
+            .isEqualTo("UNIQ_USERNAME");
+
+        assertThat(plan.get("type"))
+            .as("Lookup by name should be a constant (unique) lookup")
+            .isEqualTo("const");
+    }
+
+    @Test
+    @DisplayName("Given an existing user name, when saving another user with it, then UserAlreadyExistsException")
+    void givenExistingUserName_whenSavingDuplicate_thenUserAlreadyExists() {
+        // Given: a user named David
+        Role student = new Role("student");
+        User david = new User("David", "{bcrypt}hash");
+        david.setRole(student);
+        userService.save(david);
+
+        // When: another user with the same name (different case: the collation is case-insensitive)
+        User duplicate = new User("DAVID", "{bcrypt}other");
+        duplicate.setRole(student);
+
+        // Then: the INSERT itself is rejected by the unique index
+        assertThatThrownBy(() -> userService.save(duplicate))
+            .as("Duplicate name should be reported as UserAlreadyExistsException")
+            .isInstanceOf(UserAlreadyExistsException.class)
+            .hasMessageContaining("DAVID");
+    }
 }
@@ -0,0 +1,40 @@
+package com.example.books.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plain unit tests (no Spring context) for the API key format and its digest comparison.
+ */
+@DisplayName("Test class for ApiKeyService - key format and constant-time digest check")
+public class ApiKeyServiceTest {
+
+    private static final String PREFIX = "AbCdEfGhIjKl";
+    private static final String SECRET = "0123456789abcdefghijklmnopqrstuvwxyzABCDEFG";
+
+    @Test
+    @DisplayName("Given a well-formed key, when checked against the digest of its secret, then it matches")
+    void givenKey_whenSecretMatchesItsDigest_thenTrue() {
+        String key = PREFIX + "." + SECRET;
+
+        assertThat(ApiKeyService.prefixOf(key)).as("Public part, used for the lookup").contains(PREFIX);
+        assertThat(ApiKeyService.secretMatches(key, ApiKeyService.digest(SECRET))).isTrue();
+        assertThat(ApiKeyService.digest(SECRET)).as("SHA-256").hasSize(32);
+    }
+
+    @Test
+    @DisplayName("Given a wrong secret or a malformed key, when checked, then it is refused")
+    void givenWrongOrMalformedKey_whenChecked_thenRefused() {
+        byte[] stored = ApiKeyService.digest(SECRET);
+
+        assertThat(ApiKeyService.secretMatches(PREFIX + "." + SECRET.replace('G', 'H'), stored)).as("One character changed").isFalse();
+        assertThat(ApiKeyService.secretMatches(PREFIX + "." + SECRET + "x", stored)).as("Longer secret").isFalse();
+
+        assertThat(ApiKeyService.prefixOf(null)).as("No header value").isEmpty();
+        assertThat(ApiKeyService.prefixOf(PREFIX)).as("No secret").isEmpty();
+        assertThat(ApiKeyService.prefixOf(PREFIX + ".")).as("Empty secret").isEmpty();
+        assertThat(ApiKeyService.prefixOf("short." + SECRET)).as("Prefix of the wrong length").isEmpty();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.books.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plain unit tests (no Spring context) for the CSV cells written by the catalog export.
+ */
+@DisplayName("Test class for BookExportService - CSV quoting and formula injection")
+public class BookExportServiceTest {
+
+    @Test
+    @DisplayName("Given titles with separators or quotes, when exported, then they are quoted as in RFC 4180")
+    void givenSeparatorsOrQuotes_whenCsvField_thenQuoted() {
+        assertThat(BookExportService.csvField("Dune")).as("Nothing to quote").isEqualTo("Dune");
+        assertThat(BookExportService.csvField("Guns, Germs, and Steel")).isEqualTo("\"Guns, Germs, and Steel\"");
+        assertThat(BookExportService.csvField("The \"Phoenix\" Project")).isEqualTo("\"The \"\"Phoenix\"\" Project\"");
+    }
+
+    @Test
+    @DisplayName("Given titles starting like a spreadsheet formula, when exported, then they are prefixed with ' as text")
+    void givenFormulaLikeTitles_whenCsvField_thenPrefixedWithQuote() {
+        assertThat(BookExportService.csvField("=HYPERLINK(\"http://example.com\")")).as("Quoted as well: it contains quotes")
+                                                                             .isEqualTo("\"'=HYPERLINK(\"\"http://example.com\"\")\"");
+        assertThat(BookExportService.csvField("+1 Catalog")).isEqualTo("'+1 Catalog");
+        assertThat(BookExportService.csvField("-2+3")).isEqualTo("'-2+3");
+        assertThat(BookExportService.csvField("@SUM(A1)")).isEqualTo("'@SUM(A1)");
+        assertThat(BookExportService.csvField("\t=1+1")).isEqualTo("'\t=1+1");
+        assertThat(BookExportService.csvField("\r=1+1")).as("CR: quoted line break").isEqualTo("\"'\r=1+1\"");
+        assertThat(BookExportService.csvField("C++ Primer")).as("Only the first character counts").isEqualTo("C++ Primer");
+    }
+}
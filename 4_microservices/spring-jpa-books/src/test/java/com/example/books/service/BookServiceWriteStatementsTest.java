@@ -0,0 +1,117 @@
+package com.example.books.service;
+
+import com.example.books.TestcontainersConfiguration;
+import com.example.books.model.Book;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Counts the SQL statements of BookService's single-book writes with Hibernate statistics:
+ * an edit or a delete must be ONE statement (no SELECT of the entity before the UPDATE/DELETE).
+ *
+ * BookService is imported into the @DataJpaTest slice; caching annotations are inactive in the slice,
+ * so every counted statement comes from the write itself. The CatalogVersion increment goes through
+ * JdbcTemplate, which Hibernate statistics do not count: only the statements on tbl_book are.
+ */
+@DisplayName("Test class for BookService writes - one SQL statement per update/delete")
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ TestcontainersConfiguration.class, BookService.class, CatalogVersion.class })
+@ActiveProfiles("test")
+@Sql(scripts = "classpath:/sql/create-test-database.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "classpath:/sql/drop-test-database.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class BookServiceWriteStatementsTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                                  .unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Given a book, when updating it with its current version, then exactly one statement is executed")
+    void givenBook_whenUpdateWithCurrentVersion_thenOneStatement() {
+        // Arrange
+        Long id = persistBook("Old Title", 10.00);
+        statistics.clear();
+
+        // Act
+        Book newData = new Book(null, "New Title", 12.50);
+        newData.setVersion(0);
+        var updated = bookService.updateBook(id, newData);
+
+        // Assert
+        assertThat(statistics.getPrepareStatementCount()).as("UPDATE only, no SELECT first").isEqualTo(1);
+        assertThat(updated).get().extracting(Book::getVersion).as("Version returned for the new ETag").isEqualTo(1L);
+        Book stored = entityManager.find(Book.class, id);
+        assertThat(stored.getTitle()).isEqualTo("New Title");
+        assertThat(stored.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Given a book changed since it was read, when updating it with the old version, then it is refused")
+    void givenStaleVersion_whenUpdate_thenConflictAndNothingChanges() {
+        // Arrange: version 0 was read, the book is now at version 1
+        Long id = persistBook("Title", 10.00);
+        Book first = new Book(null, "First Writer", 11.00);
+        bookService.updateBook(id, first);
+
+        // Act + Assert
+        Book second = new Book(null, "Second Writer", 12.00);
+        second.setVersion(0);
+        assertThatThrownBy(() -> bookService.updateBook(id, second))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(entityManager.find(Book.class, id).getTitle()).isEqualTo("First Writer");
+    }
+
+    @Test
+    @DisplayName("Given a book, when deleting it, then exactly one statement is executed")
+    void givenBook_whenDelete_thenOneStatement() {
+        // Arrange
+        Long id = persistBook("To Delete", 10.00);
+        statistics.clear();
+
+        // Act
+        boolean deleted = bookService.deleteById(id);
+
+        // Assert
+        assertThat(statistics.getPrepareStatementCount()).as("DELETE only, no SELECT first").isEqualTo(1);
+        assertThat(deleted).isTrue();
+        assertThat(entityManager.find(Book.class, id)).isNull();
+        assertThat(bookService.deleteById(id)).as("Deleting it again affects no row").isFalse();
+    }
+
+    // Helper: persisted, flushed and detached, like a book read by an earlier request
+    private Long persistBook(String title, double price) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setPrice(BigDecimal.valueOf(price));
+        Long id = entityManager.persistAndFlush(book).getId();
+        entityManager.clear();
+        return id;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.books.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Plain unit tests (no Spring context, no database) for the role-to-authorities lists built at startup.
+ */
+@DisplayName("Test class for RoleAuthorityRegistry - precomputed authorities per role")
+public class RoleAuthorityRegistryTest {
+
+    private static final Map<Long, String> ROLES = Map.of(1L, "ROLE_ADMIN", 2L, "ROLE_USER", 3L, "student");
+
+    @Test
+    @DisplayName("Given a role hierarchy, when building the authorities, then implied roles follow the own role")
+    void givenRoleHierarchy_whenBuilt_thenImpliedAuthoritiesIncluded() {
+        var byRole = RoleAuthorityRegistry.authoritiesByRoleId(
+            ROLES, RoleAuthorityRegistry.parseHierarchy("ROLE_ADMIN > ROLE_USER; ROLE_USER > ROLE_GUEST"));
+
+        assertThat(byRole.get(1L)).extracting(GrantedAuthority::getAuthority)
+            .as("ADMIN implies USER, which implies GUEST (not a row of tbl_role)")
+            .containsExactly("ROLE_ADMIN", "ROLE_GUEST", "ROLE_USER");
+        assertThat(byRole.get(2L)).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_USER", "ROLE_GUEST");
+        assertThat(byRole.get(3L)).extracting(GrantedAuthority::getAuthority).as("Upper-cased once").containsExactly("STUDENT");
+    }
+
+    @Test
+    @DisplayName("Given no hierarchy, when building the authorities, then every role has only its own authority")
+    void givenNoHierarchy_whenBuilt_thenOnlyOwnAuthority() {
+        var byRole = RoleAuthorityRegistry.authoritiesByRoleId(ROLES, RoleAuthorityRegistry.parseHierarchy(""));
+
+        assertThat(byRole.get(1L)).containsExactly(new SimpleGrantedAuthority("ROLE_ADMIN"));
+        assertThat(byRole.get(2L)).containsExactly(new SimpleGrantedAuthority("ROLE_USER"));
+    }
+
+    @Test
+    @DisplayName("Given the built lists, when handed out to logins, then they are immutable and share authority instances")
+    void givenBuiltLists_whenReused_thenImmutableAndShared() {
+        var byRole = RoleAuthorityRegistry.authoritiesByRoleId(
+            ROLES, RoleAuthorityRegistry.parseHierarchy("ROLE_ADMIN > ROLE_USER"));
+        List<GrantedAuthority> admin = byRole.get(1L);
+        List<GrantedAuthority> user = byRole.get(2L);
+
+        assertThat(admin.get(1)).as("One ROLE_USER instance for every list").isSameAs(user.get(0));
+        assertThatThrownBy(() -> admin.add(new SimpleGrantedAuthority("ROLE_ROOT")))
+            .as("A login cannot change the shared list")
+            .isInstanceOf(UnsupportedOperationException.class);
+    }
+}
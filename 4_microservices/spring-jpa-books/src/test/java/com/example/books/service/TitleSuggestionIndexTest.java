@@ -0,0 +1,85 @@
+package com.example.books.service;
+
+import com.example.books.dto.TitleSuggestion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plain unit tests (no Spring context, no database) for the in-memory title suggestion trie.
+ */
+@DisplayName("Test class for TitleSuggestionIndex prefix lookups")
+public class TitleSuggestionIndexTest {
+
+    private TitleSuggestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TitleSuggestionIndex();
+        index.put(1L, "O Senhor dos Anéis");
+        index.put(2L, "Memórias Póstumas de Brás Cubas");
+        index.put(3L, "Coração das Trevas");
+        index.put(4L, "O Senhor das Moscas");
+    }
+
+    @Test
+    @DisplayName("Given accented titles, when typing without accents, then suggest the accented titles")
+    void givenAccentedTitles_whenQueryWithoutAccents_thenMatch() {
+        // Act
+        List<TitleSuggestion> suggestions = index.suggest("coracao", 10);
+
+        // Assert
+        assertThat(suggestions)
+                .as("Accent-folded prefix should find the title with its original accents")
+                .containsExactly(new TitleSuggestion(3L, "Coração das Trevas"));
+    }
+
+    @Test
+    @DisplayName("Given titles, when typing the start of any word, then suggest every title having such words")
+    void givenTitles_whenQueryPrefixesOfSeveralWords_thenAllWordsMustMatch() {
+        // Act & Assert
+        assertThat(index.suggest("SEN", 10))
+                .as("Prefix lookup should be case-insensitive and match words anywhere in the title")
+                .extracting(TitleSuggestion::id)
+                .containsExactlyInAnyOrder(1L, 4L);
+        assertThat(index.suggest("senhor anéis", 10))
+                .as("Every query word should be the start of a word of the title")
+                .extracting(TitleSuggestion::id)
+                .containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Given many matches, when limiting suggestions, then return at most the limit")
+    void givenManyMatches_whenLimit_thenReturnTopK() {
+        // Act & Assert
+        assertThat(index.suggest("o", 1))
+                .as("Only the requested number of suggestions should be returned")
+                .hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Given an indexed book, when it is renamed or removed, then suggestions follow")
+    void givenIndexedBook_whenPutAgainOrRemove_thenIndexIsUpdated() {
+        // Act
+        index.put(2L, "Dom Casmurro");
+        index.remove(3L);
+
+        // Assert
+        assertThat(index.suggest("memorias", 10))
+                .as("The old title of a renamed book should no longer be suggested")
+                .isEmpty();
+        assertThat(index.suggest("dom", 10))
+                .as("The new title of a renamed book should be suggested")
+                .containsExactly(new TitleSuggestion(2L, "Dom Casmurro"));
+        assertThat(index.suggest("coracao", 10))
+                .as("A removed book should no longer be suggested")
+                .isEmpty();
+        assertThat(index.size())
+                .as("Renaming should not duplicate the book")
+                .isEqualTo(3);
+    }
+}
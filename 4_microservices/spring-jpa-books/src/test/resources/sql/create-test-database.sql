@@ -5,7 +5,18 @@ CREATE TABLE tbl_book
 (
     book_id         BIGINT              AUTO_INCREMENT PRIMARY KEY,
     book_title      VARCHAR(255)        NOT NULL,
-    book_price      DECIMAL(10, 2)      NOT NULL
+    book_price      DECIMAL(10, 2)      NOT NULL,
+    book_version    BIGINT              NOT NULL DEFAULT 0 -- Same as V7 migration (@Version)
+);
+
+-- Same as V5 migration: MATCH ... AGAINST requires a FULLTEXT index on the searched column
+CREATE FULLTEXT INDEX FTX_BOOK_TITLE ON tbl_book (book_title);
+
+-- Same as V6 migration (only used with the "pooled-ids" profile)
+CREATE TABLE tbl_id_sequence
+(
+    seq_name        VARCHAR(64)         NOT NULL PRIMARY KEY,
+    next_val        BIGINT              NOT NULL
 );
 
 CREATE TABLE tbl_user
@@ -22,9 +33,32 @@ CREATE TABLE tbl_role
     role            VARCHAR(250)          NOT NULL
 );
 
+-- Same as V11 migration (incremented by every book write)
+CREATE TABLE tbl_catalog_version
+(
+    catalog_id      TINYINT             NOT NULL PRIMARY KEY,
+    catalog_version BIGINT              NOT NULL
+);
+INSERT INTO tbl_catalog_version (catalog_id, catalog_version) VALUES (1, 0);
+
+-- Same as V10 migration
+CREATE TABLE tbl_api_key
+(
+    api_key_id      BIGINT                NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    key_prefix      VARCHAR(16)           CHARACTER SET ascii COLLATE ascii_bin NOT NULL,
+    key_digest      BINARY(32)            NOT NULL,
+    key_name        VARCHAR(250)          NOT NULL,
+    key_fk_user     BIGINT                NOT NULL,
+    key_created_at  TIMESTAMP             NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
 -- ------------------------------------------------
 -- Constraints FK & Unique
 -- ------------------------------------------------
+ALTER TABLE tbl_user
+    ADD CONSTRAINT UNIQ_USERNAME -- Same as V8 migration
+        UNIQUE (user_name);
+
 ALTER TABLE tbl_role
     ADD CONSTRAINT UNIQ_ROLE
         UNIQUE (role);
@@ -33,6 +67,14 @@ ALTER TABLE tbl_user
     ADD CONSTRAINT FK_TO_ROLE_ID
         FOREIGN KEY (user_fk_role) REFERENCES tbl_role (role_id);
 
+ALTER TABLE tbl_api_key
+    ADD CONSTRAINT UNIQ_API_KEY_PREFIX
+        UNIQUE (key_prefix);
+
+ALTER TABLE tbl_api_key
+    ADD CONSTRAINT FK_API_KEY_TO_USER_ID
+        FOREIGN KEY (key_fk_user) REFERENCES tbl_user (user_id) ON DELETE CASCADE;
+
 -- ------------------------------------------------
 -- Important Note: With @WithMockUser annotation, do I really need to have the user/role tables?
 -- ------------------------------------------------
@@ -1,3 +1,6 @@
+DROP TABLE IF EXISTS tbl_api_key;
 DROP TABLE IF EXISTS tbl_user;
 DROP TABLE IF EXISTS tbl_role;
 DROP TABLE IF EXISTS tbl_book;
+DROP TABLE IF EXISTS tbl_id_sequence;
+DROP TABLE IF EXISTS tbl_catalog_version;